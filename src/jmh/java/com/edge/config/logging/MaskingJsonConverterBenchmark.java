@@ -0,0 +1,60 @@
+package com.edge.config.logging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Masks a log line carrying a nested JSON payload of roughly 1 KB, 10 KB and 100 KB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MaskingJsonConverterBenchmark {
+
+    @Param({"1024", "10240", "102400"})
+    private int payloadBytes;
+
+    private MaskingJsonConverter converter;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        RedactionConfig config = new RedactionConfig("********");
+        config.addField("password", RedactionType.FULL);
+        config.addField("token", RedactionType.FULL);
+        config.addField("email", RedactionType.EMAIL);
+        config.addField("creditCard", RedactionType.CREDIT_CARD);
+        converter = new MaskingJsonConverter(config);
+        message = "Request body: " + payload(payloadBytes) + " handled";
+    }
+
+    @Benchmark
+    public String mask() {
+        return converter.maskSensitiveData(message);
+    }
+
+    private static String payload(int targetBytes) {
+        StringBuilder json = new StringBuilder("{\"token\":\"abc123\",\"orders\":[");
+        for (int i = 0; json.length() < targetBytes; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"customer\":{\"name\":\"Customer ").append(i)
+                    .append("\",\"email\":\"customer").append(i).append("@example.com\"")
+                    .append(",\"payment\":{\"creditCard\":\"4111-1111-1111-").append(1000 + i % 9000)
+                    .append("\",\"billing\":{\"city\":\"Springfield\",\"zip\":\"12345\"}}}")
+                    .append(",\"total\":").append(i * 1.25)
+                    .append(",\"tags\":[\"a\",\"b\"]}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.edge.config.logging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Masks one typical value per redaction type, both into a reused buffer and as a new
+ * String. Field names are looked up in mixed case to include the lookup cost.
+ * Run with -prof gc to see the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedactionConfigBenchmark {
+
+    @Param({"FULL", "CREDIT_CARD", "EMAIL", "PHONE", "SSN", "ADDRESS"})
+    private RedactionType type;
+
+    private RedactionConfig config;
+    private String fieldName;
+    private String value;
+    private final StringBuilder buffer = new StringBuilder(128);
+
+    @Setup
+    public void setUp() {
+        config = new RedactionConfig("********");
+        config.addField("sensitiveValue", type);
+        fieldName = "SensitiveValue";
+        value = switch (type) {
+            case FULL -> "Secret123!";
+            case CREDIT_CARD -> "4111-1111-1111-1234";
+            case EMAIL -> "john.doe@example.com";
+            case PHONE -> "+1-555-123-4567";
+            case SSN -> "123-45-6789";
+            case ADDRESS -> "123 Main St, Apt 4B, New York, NY 10001";
+        };
+    }
+
+    @Benchmark
+    public StringBuilder appendToBuffer() {
+        buffer.setLength(0);
+        config.redactValue(fieldName, value, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public String redactToString() {
+        return config.redactValue(fieldName, value);
+    }
+}
@@ -0,0 +1,40 @@
+package com.edge.template.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ID generator with the UUID based IDs it replaced, on 8 threads so the
+ * contention on the shared SecureRandom shows. Run with -prof gc for the allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class TraceIdGeneratorBenchmark {
+
+    @Benchmark
+    public String uuidTraceId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String uuidSpanId() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Benchmark
+    public String traceId() {
+        return TraceIdGenerator.newTraceId();
+    }
+
+    @Benchmark
+    public String spanId() {
+        return TraceIdGenerator.newSpanId();
+    }
+}
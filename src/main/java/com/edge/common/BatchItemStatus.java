@@ -0,0 +1,11 @@
+package com.edge.common;
+
+/**
+ * Outcome of a single id in a batch operation.
+ */
+public enum BatchItemStatus {
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    CONFLICT
+}
@@ -0,0 +1,27 @@
+package com.edge.common;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+/**
+ * Per-id report of a batch operation, in request order.
+ */
+@Getter
+public class BatchResult<ID> {
+    private final Map<ID, BatchItemStatus> results = new LinkedHashMap<>();
+
+    public void put(ID id, BatchItemStatus status) {
+        results.put(id, status);
+    }
+
+    public List<ID> idsWithStatus(BatchItemStatus status) {
+        return results.entrySet().stream()
+                .filter(entry -> entry.getValue() == status)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,19 @@
+package com.edge.common;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A slice of results read with keyset (cursor) pagination.
+ * Pass {@code nextCursor} back as the {@code cursor} parameter to read the following slice.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+    private final boolean hasNext;
+}
@@ -0,0 +1,47 @@
+package com.edge.common;
+
+/**
+ * Strong entity tags derived from an entity id and its {@code @Version}.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(Object id, Object version) {
+        return "\"" + id + ":" + version + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header against the current version using
+     * strong comparison: {@code *} matches any existing entity, weak tags never match.
+     */
+    public static boolean matches(String ifMatch, Object id, Object version) {
+        String current = of(id, version);
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against the current version using
+     * weak comparison, so {@code W/"..."} tags from intermediaries still match.
+     */
+    public static boolean matchesNone(String ifNoneMatch, Object id, Object version) {
+        String current = of(id, version);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(current)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
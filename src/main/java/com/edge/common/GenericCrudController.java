@@ -1,26 +1,58 @@
 package com.edge.common;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import jakarta.validation.groups.Default;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 public abstract class GenericCrudController<T, CommandDTO, ResponseDTO, ID> {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String VIEW_FULL = "full";
+    public static final String VIEW_SUMMARY = "summary";
+
     protected final GenericCrudService<T, CommandDTO, ResponseDTO, ID> service;
 
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected Validator validator;
+
     protected GenericCrudController(GenericCrudService<T, CommandDTO, ResponseDTO, ID> service) {
         this.service = service;
     }
@@ -35,23 +67,98 @@ public abstract class GenericCrudController<T, CommandDTO, ResponseDTO, ID> {
 
     @PutMapping("/{id}")
     public ResponseEntity<ResponseDTO> update(@PathVariable ID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Validated({ Default.class, ValidationGroup.Update.class }) @RequestBody CommandDTO dto) {
-        Optional<ResponseDTO> updated = service.update(id, dto);
+        Optional<ResponseDTO> updated = ifMatch == null ? service.update(id, dto)
+                : service.update(id, dto, version -> EntityTags.matches(ifMatch, id, version));
         // Optionally log request receipt or response status here if needed
         return updated.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ResponseDTO> get(@PathVariable ID id) {
+    public ResponseEntity<?> get(@PathVariable ID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (service.isVersioned()) {
+            if (ifNoneMatch != null) {
+                // A matching If-None-Match is answered before anything is mapped or serialized
+                Optional<Object> version = service.findVersion(id);
+                if (version.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                if (!EntityTags.matchesNone(ifNoneMatch, id, version.get())) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(id, version.get())).build();
+                }
+            }
+            // The ETag comes with the body from one read, so both describe the same version
+            if (service.isResponseCacheEnabled()) {
+                // Cached JSON for the current version is written out as it is
+                return service.getSerialized(id, this::toJson)
+                        .map(json -> ResponseEntity.ok().eTag(EntityTags.of(id, json.getVersion()))
+                                .contentType(MediaType.APPLICATION_JSON).body(json.getBody()))
+                        .orElse(ResponseEntity.notFound().build());
+            }
+            return service.getVersioned(id)
+                    .map(dto -> ResponseEntity.ok().eTag(EntityTags.of(id, dto.getVersion())).body(dto.getBody()))
+                    .orElse(ResponseEntity.notFound().build());
+        }
         Optional<ResponseDTO> result = service.get(id);
         return result.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    public ResponseEntity<List<ResponseDTO>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<List<?>> findAll(@RequestParam(defaultValue = VIEW_FULL) String view) {
+        return ResponseEntity.ok(isSummaryView(view) ? service.findAllSummaries() : service.findAll());
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<ResponseDTO>> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+        return ResponseEntity.ok(service.scroll(cursor, size, sort, direction));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<PagedModel<?>> findPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+        Page<?> result = isSummaryView(view)
+                ? service.findSummaryPage(page, size, sort, direction)
+                : service.findPage(page, size, sort, direction);
+        return ResponseEntity.ok(new PagedModel<>(result));
+    }
+
+    /**
+     * Exports every entity as newline-delimited JSON. Each row is written to the
+     * response as soon as it is mapped, so memory use does not depend on table size.
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = writer.createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            try (generator) {
+                service.streamAll(dto -> {
+                    try {
+                        writer.writeValue(generator, dto);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -66,9 +173,39 @@ public abstract class GenericCrudController<T, CommandDTO, ResponseDTO, ID> {
         return ResponseEntity.status(HttpStatus.CREATED).body(service.batchCreate(dtos));
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<BatchResult<ID>> batchUpdate(
+            @Validated({ Default.class, ValidationGroup.Update.class }) @RequestBody Map<ID, CommandDTO> updates) {
+        // Bean validation does not cascade from a map argument into its values, so check each DTO here
+        Set<ConstraintViolation<CommandDTO>> violations = new LinkedHashSet<>();
+        updates.values().forEach(dto -> violations.addAll(
+                validator.validate(dto, Default.class, ValidationGroup.Update.class)));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return ResponseEntity.ok(service.batchUpdate(updates));
+    }
+
     @DeleteMapping("/batch")
-    public ResponseEntity<Void> batchDelete(@RequestParam List<ID> ids) {
-        service.batchDelete(ids);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<BatchResult<ID>> batchDelete(@RequestParam List<ID> ids) {
+        return ResponseEntity.ok(service.batchDelete(ids));
+    }
+
+    private static boolean isSummaryView(String view) {
+        if (VIEW_SUMMARY.equalsIgnoreCase(view)) {
+            return true;
+        }
+        if (VIEW_FULL.equalsIgnoreCase(view)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown view '" + view + "', expected 'full' or 'summary'");
+    }
+
+    private byte[] toJson(ResponseDTO dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,39 +1,127 @@
 package com.edge.common;
 
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.stereotype.Service;
 
 import com.edge.exception.EntityNotFoundException;
+import com.edge.exception.PreconditionFailedException;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Service
 public abstract class GenericCrudService<T, CommandDTO, ResponseDTO, ID> {
+    private static final int DEFAULT_BATCH_SIZE = 50;
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    // Matches no mapped table, so batchDelete's statements invalidate no cache region
+    private static final String BULK_DELETE_QUERY_SPACE = "batch_delete";
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
     protected final JpaRepository<T, ID> repository;
     protected final Function<T, ResponseDTO> mapperFunction;
     protected final Function<CommandDTO, T> toEntityFunction;
     protected final BiConsumer<T, CommandDTO> updateEntityFunction;
+    protected final BiConsumer<T, CommandDTO> patchEntityFunction;
     protected final Logger logger = LoggerFactory.getLogger(getClass());
+    protected final Class<T> entityClass;
+    protected final Class<ID> idClass;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    @Autowired(required = false)
+    private ResponseCache responseCache;
 
     protected GenericCrudService(
             JpaRepository<T, ID> repository,
             Function<T, ResponseDTO> mapperFunction,
             Function<CommandDTO, T> toEntityFunction,
             BiConsumer<T, CommandDTO> updateEntityFunction) {
+        this(repository, mapperFunction, toEntityFunction, updateEntityFunction, updateEntityFunction);
+    }
+
+    /**
+     * @param patchEntityFunction applies the partial updates of {@link #batchUpdate}:
+     *            properties the DTO leaves null must keep their stored value
+     */
+    protected GenericCrudService(
+            JpaRepository<T, ID> repository,
+            Function<T, ResponseDTO> mapperFunction,
+            Function<CommandDTO, T> toEntityFunction,
+            BiConsumer<T, CommandDTO> updateEntityFunction,
+            BiConsumer<T, CommandDTO> patchEntityFunction) {
         this.repository = repository;
         this.mapperFunction = mapperFunction;
         this.toEntityFunction = toEntityFunction;
         this.updateEntityFunction = updateEntityFunction;
+        this.patchEntityFunction = patchEntityFunction;
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(getClass(), GenericCrudService.class);
+        this.entityClass = typeArguments != null ? castClass(typeArguments[0]) : null;
+        this.idClass = typeArguments != null ? castClass(typeArguments[3]) : null;
     }
 
     @Transactional
@@ -48,8 +136,22 @@ public abstract class GenericCrudService<T, CommandDTO, ResponseDTO, ID> {
 
     @Transactional
     public Optional<ResponseDTO> update(ID id, CommandDTO dto) {
+        return update(id, dto, version -> true);
+    }
+
+    /**
+     * Updates the entity only if its current {@code @Version} passes
+     * {@code versionCondition}, for conditional requests such as {@code If-Match};
+     * otherwise a {@link PreconditionFailedException} is thrown. The condition is
+     * not evaluated for unversioned entities.
+     */
+    @Transactional
+    public Optional<ResponseDTO> update(ID id, CommandDTO dto, java.util.function.Predicate<Object> versionCondition) {
         T entity = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Entity not found with id: " + id));
+        if (isVersioned() && !versionCondition.test(getVersion(entity))) {
+            throw new PreconditionFailedException("Entity with id " + id + " has been modified");
+        }
         beforeUpdate(entity, dto);
         updateEntityFunction.accept(entity, dto);
         repository.save(entity);
@@ -60,8 +162,78 @@ public abstract class GenericCrudService<T, CommandDTO, ResponseDTO, ID> {
 
     @Transactional(readOnly = true)
     public Optional<ResponseDTO> get(ID id) {
-        return repository.findById(id)
-                .map(mapperFunction::apply);
+        return findWithFetchGraph(id).map(mapperFunction::apply);
+    }
+
+    /**
+     * Reads one entity together with its {@code @Version}, both taken from the same
+     * loaded instance.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Versioned<ResponseDTO>> getVersioned(ID id) {
+        return findWithFetchGraph(id)
+                .map(entity -> new Versioned<>(getVersion(entity), mapperFunction.apply(entity)));
+    }
+
+    private Optional<T> findWithFetchGraph(ID id) {
+        String graphName = getFetchGraphName();
+        Map<String, Object> hints = graphName == null ? Map.of()
+                : Map.of(FETCH_GRAPH_HINT, entityManager.getEntityGraph(graphName));
+        return Optional.ofNullable(entityManager.find(entityClass, id, hints));
+    }
+
+    /**
+     * Current {@code @Version} of an entity. It is read from the second-level cache
+     * when the entity is cached there, and with a single-column query otherwise,
+     * so the entity itself is not loaded from the database.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Object> findVersion(ID id) {
+        String versionAttribute = getVersionAttributeName();
+        if (versionAttribute == null) {
+            throw new IllegalStateException(entityClass.getSimpleName() + " has no @Version attribute");
+        }
+        if (entityManager.getEntityManagerFactory().getCache().contains(entityClass, id)) {
+            return Optional.ofNullable(entityManager.find(entityClass, id)).map(this::getVersion);
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<T> root = query.from(entityClass);
+        query.select(root.get(versionAttribute)).where(cb.equal(root.get(getIdAttributeName()), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    public boolean isVersioned() {
+        return getVersionAttributeName() != null;
+    }
+
+    /**
+     * Whether {@link #getSerialized} can serve cached responses, which needs a
+     * configured {@link ResponseCache} and a versioned entity.
+     */
+    public boolean isResponseCacheEnabled() {
+        return responseCache != null && isVersioned();
+    }
+
+    /**
+     * Reads one entity in its serialized form, with the version it was serialized
+     * at. The entity is loaded without its fetch graph (usually from the
+     * second-level cache) to learn its version, and the serialized response for
+     * that id and version is reused when present, so a hit skips the mapper and
+     * the serializer.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Versioned<byte[]>> getSerialized(ID id, Function<ResponseDTO, byte[]> serializer) {
+        if (!isResponseCacheEnabled()) {
+            return getVersioned(id).map(dto -> new Versioned<>(dto.getVersion(), serializer.apply(dto.getBody())));
+        }
+        T entity = entityManager.find(entityClass, id);
+        if (entity == null) {
+            return Optional.empty();
+        }
+        Object version = getVersion(entity);
+        return Optional.of(new Versioned<>(version, responseCache.get(entityClass, id, version,
+                () -> serializer.apply(mapperFunction.apply(entity)))));
     }
 
     @Transactional(readOnly = true)
@@ -71,11 +243,212 @@ public abstract class GenericCrudService<T, CommandDTO, ResponseDTO, ID> {
 
     @Transactional(readOnly = true)
     public List<ResponseDTO> findAll() {
-        return repository.findAll().stream()
+        return fetchGraph(repository.findAll()).stream()
                 .map(mapperFunction)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Reads one slice of the table using keyset pagination. Rows are ordered by
+     * {@code sortBy} with the id as tie-breaker, and the next slice starts strictly
+     * after the last row returned, so the cost does not grow with the position.
+     * When a cursor is given, the sort order it was created with is used.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ResponseDTO> scroll(String cursor, int size, String sortBy, Sort.Direction direction) {
+        int limit = resolvePageSize(size);
+        KeysetCursor position = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        String sortProperty = resolveSortProperty(position != null ? position.getSortBy() : sortBy);
+        Sort.Direction sortDirection = position != null ? position.getDirection() : direction;
+        boolean ascending = sortDirection == null || sortDirection.isAscending();
+        String idProperty = getIdAttributeName();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        Path<Comparable<Object>> sortPath = root.get(sortProperty);
+        Path<Comparable<Object>> idPath = root.get(idProperty);
+
+        if (position != null) {
+            Comparable<Object> lastId = convertKey(position.getId(), idPath.getJavaType());
+            Predicate afterId = ascending ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+            if (sortProperty.equals(idProperty)) {
+                query.where(afterId);
+            } else {
+                Comparable<Object> lastValue = convertKey(position.getValue(), sortPath.getJavaType());
+                Predicate afterValue = ascending ? cb.greaterThan(sortPath, lastValue) : cb.lessThan(sortPath, lastValue);
+                query.where(cb.or(afterValue, cb.and(cb.equal(sortPath, lastValue), afterId)));
+            }
+        }
+        if (sortProperty.equals(idProperty)) {
+            query.orderBy(order(cb, idPath, ascending));
+        } else {
+            query.orderBy(order(cb, sortPath, ascending), order(cb, idPath, ascending));
+        }
+
+        // Read one extra row to find out whether another slice follows
+        List<T> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<T> slice = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            T last = slice.get(slice.size() - 1);
+            Object lastId = getIdentifier(last);
+            Object lastValue = PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue(sortProperty);
+            nextCursor = new KeysetCursor(sortProperty, ascending ? Sort.Direction.ASC : Sort.Direction.DESC,
+                    conversionService.convert(lastValue, String.class),
+                    conversionService.convert(lastId, String.class)).encode();
+        }
+        List<ResponseDTO> content = fetchGraph(slice).stream().map(mapperFunction).collect(Collectors.toList());
+        return new CursorPage<>(content, content.size(), nextCursor, hasNext);
+    }
+
+    /**
+     * Reads one page using offset pagination. This issues a count query and the
+     * database still walks past every skipped row, so prefer {@link #scroll} for
+     * deep positions or large tables.
+     */
+    @Transactional(readOnly = true)
+    public Page<ResponseDTO> findPage(int page, int size, String sortBy, Sort.Direction direction) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative");
+        }
+        Page<T> result = repository.findAll(PageRequest.of(page, resolvePageSize(size), pageSort(sortBy, direction)));
+        fetchGraph(result.getContent());
+        return result.map(mapperFunction);
+    }
+
+    /**
+     * Whether list reads can be served in the summary view, see {@link #getSummaryType()}.
+     */
+    public boolean hasSummaryView() {
+        return getSummaryType() != null;
+    }
+
+    /**
+     * Reads every row in the summary view. Rows are selected straight into the
+     * summary type with a constructor projection, so no entity is instantiated,
+     * tracked by the persistence context or dirty checked.
+     */
+    @Transactional(readOnly = true)
+    public List<?> findAllSummaries() {
+        return selectSummaries(requireSummaryType(), null, Sort.by(getIdAttributeName()), 0, Integer.MAX_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<?> findSummariesBySpecification(Specification<T> spec) {
+        return selectSummaries(requireSummaryType(), spec, Sort.by(getIdAttributeName()), 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Summary view of {@link #findPage}, with the same sorting rules.
+     */
+    @Transactional(readOnly = true)
+    public Page<?> findSummaryPage(int page, int size, String sortBy, Sort.Direction direction) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative");
+        }
+        PageRequest pageRequest = PageRequest.of(page, resolvePageSize(size), pageSort(sortBy, direction));
+        List<?> content = selectSummaries(requireSummaryType(), null, pageRequest.getSort(), (int) pageRequest.getOffset(),
+                pageRequest.getPageSize());
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        count.select(cb.count(count.from(entityClass)));
+        return new PageImpl<>(content, pageRequest, entityManager.createQuery(count).getSingleResult());
+    }
+
+    private <S> List<S> selectSummaries(Class<S> summaryType, Specification<T> spec, Sort sort, int first, int max) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<S> query = cb.createQuery(summaryType);
+        Root<T> root = query.from(entityClass);
+        RecordComponent[] components = summaryType.getRecordComponents();
+        Selection<?>[] selections = new Selection<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            selections[i] = root.get(components[i].getName());
+        }
+        query.select(cb.construct(summaryType, selections));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setFirstResult(first).setMaxResults(max).getResultList();
+    }
+
+    private Class<? extends Record> requireSummaryType() {
+        Class<? extends Record> summaryType = getSummaryType();
+        if (summaryType == null) {
+            throw new IllegalArgumentException(entityClass.getSimpleName() + " has no summary view");
+        }
+        return summaryType;
+    }
+
+    private Sort pageSort(String sortBy, Sort.Direction direction) {
+        String sortProperty = resolveSortProperty(sortBy);
+        String idProperty = getIdAttributeName();
+        Sort.Direction sortDirection = direction != null ? direction : Sort.Direction.ASC;
+        Sort sort = Sort.by(sortDirection, sortProperty);
+        if (!sortProperty.equals(idProperty)) {
+            sort = sort.and(Sort.by(sortDirection, idProperty));
+        }
+        return sort;
+    }
+
+    /**
+     * Streams every row through the mapper without holding the table in memory.
+     * Rows are read with a forward-only cursor and mapped in chunks of
+     * {@link #getStreamFetchSize()}; each chunk has its fetch graph loaded with one
+     * query and is then cleared, so the persistence context stays small whatever
+     * the table size. On MySQL the
+     * connection must use server-side cursors ({@code useCursorFetch=true}) for the
+     * fetch size to take effect.
+     *
+     * @return the number of rows streamed
+     */
+    @SuppressWarnings("unchecked")
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<ResponseDTO> consumer) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> criteria = cb.createQuery(entityClass);
+        Root<T> root = criteria.from(entityClass);
+        criteria.orderBy(cb.asc(root.get(getIdAttributeName())));
+
+        Query<T> query = entityManager.createQuery(criteria).unwrap(Query.class);
+        query.setFetchSize(getStreamFetchSize());
+        query.setReadOnly(true);
+
+        // A full export must not push the hot entries out of the second-level cache
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        long count = 0;
+        List<T> chunk = new ArrayList<>(getStreamFetchSize());
+        try (ScrollableResults<T> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                chunk.add(results.get());
+                if (chunk.size() == getStreamFetchSize()) {
+                    count += streamChunk(chunk, consumer);
+                }
+            }
+            count += streamChunk(chunk, consumer);
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+        logger.info("Streamed {} entities", count);
+        return count;
+    }
+
+    private int streamChunk(List<T> chunk, Consumer<ResponseDTO> consumer) {
+        fetchGraph(chunk).forEach(entity -> consumer.accept(mapperFunction.apply(entity)));
+        int size = chunk.size();
+        chunk.forEach(entityManager::detach);
+        chunk.clear();
+        return size;
+    }
+
     @Transactional
     public void delete(ID id) {
         T entity = repository.findById(id)
@@ -86,26 +459,237 @@ public abstract class GenericCrudService<T, CommandDTO, ResponseDTO, ID> {
         logger.info("Deleted entity with id: {}", id);
     }
 
-    // Batch create
+    /**
+     * Persists new entities with JDBC batching. Entities are passed to
+     * {@code persist} directly, so no existence check is issued per row, and the
+     * persistence context is flushed and cleared every {@link #getBatchSize()}
+     * entities to keep memory bounded. Clearing detaches every managed entity, so
+     * callers sharing the transaction should not hold on to entities loaded before.
+     */
     @Transactional
     public List<ResponseDTO> batchCreate(List<CommandDTO> objects) {
         // Call beforeCreate for each DTO
         objects.forEach(this::beforeCreate);
-        // Map DTOs to entities
-        List<T> entities = objects.stream().map(toEntityFunction).collect(Collectors.toList());
-        // Use repository batch save
-        List<T> savedEntities = repository.saveAll(entities);
-        // Call afterCreate for each saved entity
-        savedEntities.forEach(this::afterCreate);
-        logger.info("Batch created {} entities", savedEntities.size());
-        // Map to response DTOs
-        return savedEntities.stream().map(mapperFunction).collect(Collectors.toList());
-    }
-
-    // Batch delete
+        int batchSize = getBatchSize();
+        List<ResponseDTO> responses = new ArrayList<>(objects.size());
+        List<T> chunk = new ArrayList<>(batchSize);
+        for (CommandDTO dto : objects) {
+            T entity = toEntityFunction.apply(dto);
+            entityManager.persist(entity);
+            chunk.add(entity);
+            if (chunk.size() == batchSize) {
+                flushCreatedChunk(chunk, responses);
+            }
+        }
+        flushCreatedChunk(chunk, responses);
+        logger.info("Batch created {} entities", responses.size());
+        return responses;
+    }
+
+    private void flushCreatedChunk(List<T> chunk, List<ResponseDTO> responses) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        // Call afterCreate and map while the chunk is still managed
+        chunk.forEach(this::afterCreate);
+        chunk.stream().map(mapperFunction).forEach(responses::add);
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    /**
+     * Applies {@code patchEntityFunction} to many entities in one transaction, so
+     * properties a DTO leaves null keep their stored value.
+     * Each chunk of ids is loaded with a single query and the changes are flushed
+     * every {@link #getBatchSize()} rows so that the updates go out as JDBC batches.
+     * When a DTO carries a version that differs from the stored one the row is left
+     * untouched and reported as {@link BatchItemStatus#CONFLICT}; a DTO without a
+     * version is applied unconditionally. The update hooks run only for rows that
+     * are applied. A concurrent change that lands between the read and the flush
+     * still fails the whole batch with an optimistic lock error.
+     */
     @Transactional
-    public void batchDelete(List<ID> ids) {
-        ids.forEach(this::delete);
+    public BatchResult<ID> batchUpdate(Map<ID, CommandDTO> updates) {
+        BatchResult<ID> result = new BatchResult<>();
+        List<ID> ids = new ArrayList<>(updates.keySet());
+        ids.forEach(id -> result.put(id, BatchItemStatus.NOT_FOUND));
+        String versionAttribute = getVersionAttributeName();
+        int batchSize = getBatchSize();
+        int pending = 0;
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<ID> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            for (T entity : findAllById(chunk, LockModeType.NONE)) {
+                @SuppressWarnings("unchecked")
+                ID id = (ID) getIdentifier(entity);
+                CommandDTO dto = updates.get(id);
+                if (!applyUpdate(entity, dto, versionAttribute)) {
+                    result.put(id, BatchItemStatus.CONFLICT);
+                    continue;
+                }
+                result.put(id, BatchItemStatus.UPDATED);
+                if (++pending == batchSize) {
+                    entityManager.flush();
+                    pending = 0;
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            pending = 0;
+        }
+        logger.info("Batch updated {} entities, {} conflicts, {} not found",
+                result.idsWithStatus(BatchItemStatus.UPDATED).size(),
+                result.idsWithStatus(BatchItemStatus.CONFLICT).size(),
+                result.idsWithStatus(BatchItemStatus.NOT_FOUND).size());
+        return result;
+    }
+
+    private boolean applyUpdate(T entity, CommandDTO dto, String versionAttribute) {
+        if (versionAttribute == null) {
+            beforeUpdate(entity, dto);
+            patchEntityFunction.accept(entity, dto);
+            afterUpdate(entity);
+            return true;
+        }
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Object storedVersion = wrapper.getPropertyValue(versionAttribute);
+        // Compare before mapping, so a conflicting row is never touched
+        BeanWrapper dtoWrapper = PropertyAccessorFactory.forBeanPropertyAccess(dto);
+        Object expectedVersion = dtoWrapper.isReadableProperty(versionAttribute)
+                ? dtoWrapper.getPropertyValue(versionAttribute) : null;
+        if (expectedVersion != null && (storedVersion == null
+                || !Objects.equals(conversionService.convert(expectedVersion, storedVersion.getClass()), storedVersion))) {
+            return false;
+        }
+        beforeUpdate(entity, dto);
+        patchEntityFunction.accept(entity, dto);
+        // The version is managed by Hibernate; never let the DTO overwrite it
+        wrapper.setPropertyValue(versionAttribute, storedVersion);
+        afterUpdate(entity);
+        return true;
+    }
+
+    /**
+     * Deletes the given ids with set-based statements. Each chunk of ids is loaded
+     * and locked with a single query, cascaded child collections and then the
+     * parents are removed with one bulk delete each, and the batch hooks run once
+     * per chunk. Ids that do not exist are reported instead of failing the batch.
+     * The deleted entities and collections are evicted from the second-level cache
+     * one id at a time, so the other cached rows stay warm.
+     */
+    @Transactional
+    public BatchResult<ID> batchDelete(List<ID> ids) {
+        BatchResult<ID> result = new BatchResult<>();
+        List<ID> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        // Seed every id in request order; found ones are overwritten below
+        distinctIds.forEach(id -> result.put(id, BatchItemStatus.NOT_FOUND));
+        EntityPersister persister = getMappingMetamodel().getEntityDescriptor(entityClass);
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<ID> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size()));
+            List<T> entities = findAllById(chunk, LockModeType.PESSIMISTIC_WRITE);
+            if (entities.isEmpty()) {
+                continue;
+            }
+            Set<Object> foundIds = new HashSet<>();
+            for (T entity : entities) {
+                foundIds.add(getIdentifier(entity));
+            }
+            List<ID> deletedIds = chunk.stream().filter(foundIds::contains).collect(Collectors.toList());
+            beforeBatchDelete(entities);
+            // The bulk statements do not flush on their own query space
+            entityManager.flush();
+            deleteChildren(deletedIds);
+            bulkDelete(((AbstractEntityPersister) persister).getRootTableName(),
+                    persister.getIdentifierColumnNames()[0], deletedIds);
+            afterBatchDelete(entities);
+            // Bulk statements bypass the persistence context, so drop the stale instances
+            entities.forEach(entityManager::detach);
+            evictAfterCompletion(cache -> deletedIds.forEach(id -> cache.evictEntityData(entityClass, id)));
+            deletedIds.forEach(id -> result.put(id, BatchItemStatus.DELETED));
+        }
+        logger.info("Batch deleted {} entities, {} not found", result.idsWithStatus(BatchItemStatus.DELETED).size(),
+                result.idsWithStatus(BatchItemStatus.NOT_FOUND).size());
+        return result;
+    }
+
+    private List<T> findAllById(List<ID> ids, LockModeType lockMode) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        query.where(root.get(getIdAttributeName()).in(ids));
+        return entityManager.createQuery(query).setLockMode(lockMode).getResultList();
+    }
+
+    /**
+     * Removes the rows of every {@code @OneToMany(mappedBy = ...)} collection that
+     * cascades removal, with one bulk statement per collection, and evicts the
+     * collections and their cached elements. Override this when the children have
+     * cascaded collections of their own.
+     */
+    protected void deleteChildren(List<ID> parentIds) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        for (PluralAttribute<? super T, ?, ?> attribute : entityType.getPluralAttributes()) {
+            if (!(attribute.getJavaMember() instanceof AnnotatedElement member)) {
+                continue;
+            }
+            OneToMany oneToMany = member.getAnnotation(OneToMany.class);
+            if (oneToMany == null || oneToMany.mappedBy().isEmpty() || !cascadesRemoval(oneToMany)) {
+                continue;
+            }
+            String role = entityClass.getName() + "." + attribute.getName();
+            AbstractCollectionPersister collection =
+                    (AbstractCollectionPersister) getMappingMetamodel().getCollectionDescriptor(role);
+            EntityPersister element = collection.getElementPersister();
+            List<?> childIds = element.canWriteToCache()
+                    ? entityManager.createQuery("select c." + element.getIdentifierPropertyName() + " from "
+                            + element.getEntityName() + " c where c." + oneToMany.mappedBy() + "."
+                            + getIdAttributeName() + " in :ids").setParameter("ids", parentIds).getResultList()
+                    : List.of();
+            bulkDelete(collection.getTableName(), collection.getKeyColumnNames()[0], parentIds);
+            evictAfterCompletion(cache -> {
+                parentIds.forEach(id -> cache.evictCollectionData(role, id));
+                childIds.forEach(id -> cache.evictEntityData(element.getEntityName(), id));
+            });
+        }
+    }
+
+    /**
+     * Runs {@code delete from table where column in (:ids)} as native SQL on its own
+     * query space. Hibernate empties every cache region mapped to the query spaces of
+     * a bulk statement, so the callers evict the deleted ids themselves instead.
+     */
+    private void bulkDelete(String table, String column, List<?> ids) {
+        NativeQuery<?> query = entityManager.createNativeQuery("delete from " + table + " where " + column + " in (:ids)")
+                .unwrap(NativeQuery.class);
+        query.addSynchronizedQuerySpace(BULK_DELETE_QUERY_SPACE)
+                .setParameterList("ids", ids)
+                .executeUpdate();
+    }
+
+    /**
+     * Evicts now, and again once the transaction completes: a concurrent reader may
+     * cache the rows it still sees before the delete commits.
+     */
+    private void evictAfterCompletion(Consumer<Cache> eviction) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+
+    private MappingMetamodel getMappingMetamodel() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+    }
+
+    private static boolean cascadesRemoval(OneToMany oneToMany) {
+        List<CascadeType> cascades = Arrays.asList(oneToMany.cascade());
+        return oneToMany.orphanRemoval() || cascades.contains(CascadeType.ALL) || cascades.contains(CascadeType.REMOVE);
     }
 
     // Custom query using Specification (if repository supports it)
@@ -115,7 +699,7 @@ public abstract class GenericCrudService<T, CommandDTO, ResponseDTO, ID> {
         if (specRepo == null) {
             throw new UnsupportedOperationException("Repository does not support Specification queries");
         }
-        return specRepo.findAll(spec).stream().map(mapperFunction).collect(Collectors.toList());
+        return fetchGraph(specRepo.findAll(spec)).stream().map(mapperFunction).collect(Collectors.toList());
     }
 
     /**
@@ -125,6 +709,151 @@ public abstract class GenericCrudService<T, CommandDTO, ResponseDTO, ID> {
         return null;
     }
 
+    /**
+     * Record type of the lightweight "summary" view of list reads, or {@code null}
+     * if the entity has none. Each record component must be named after an entity
+     * attribute; the canonical constructor receives them in declaration order.
+     */
+    protected Class<? extends Record> getSummaryType() {
+        return null;
+    }
+
+    /**
+     * Properties, besides the id, that clients may sort pages by. Keyset pagination
+     * requires these columns to be non-null and they should be indexed.
+     */
+    protected Set<String> getSortableProperties() {
+        return Set.of();
+    }
+
+    /**
+     * Upper bound for the page size requested by clients.
+     */
+    protected int getMaxPageSize() {
+        return 500;
+    }
+
+    /**
+     * Number of rows written per JDBC batch and per flush in bulk operations.
+     * Defaults to the configured {@code hibernate.jdbc.batch_size}.
+     */
+    protected int getBatchSize() {
+        Object configured = entityManager.getEntityManagerFactory().getProperties()
+                .get(AvailableSettings.STATEMENT_BATCH_SIZE);
+        int batchSize = configured != null ? Integer.parseInt(configured.toString().trim()) : 0;
+        return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Name of the entity graph the read paths load together with the entities,
+     * or {@code null} to leave every association to its mapped fetch type.
+     */
+    protected String getFetchGraphName() {
+        return null;
+    }
+
+    /**
+     * JDBC fetch size used by {@link #streamAll}.
+     */
+    protected int getStreamFetchSize() {
+        return 500;
+    }
+
+    /**
+     * Name of the {@code @Version} attribute, or {@code null} if the entity is not versioned.
+     */
+    protected String getVersionAttributeName() {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        if (!entityType.hasVersionAttribute()) {
+            return null;
+        }
+        return entityType.getSingularAttributes().stream()
+                .filter(SingularAttribute::isVersion)
+                .map(SingularAttribute::getName)
+                .findFirst()
+                .orElse(null);
+    }
+
+    protected String getIdAttributeName() {
+        return entityManager.getMetamodel().entity(entityClass).getId(idClass).getName();
+    }
+
+    /**
+     * Loads the fetch graph for entities that are already managed. The entities are
+     * selected again by id with the graph as a hint; Hibernate initializes their
+     * associations from the joined rows, so a page of any size costs one extra
+     * query instead of one query per entity. Doing this as a second step keeps
+     * collection joins out of the paginated query.
+     */
+    private List<T> fetchGraph(List<T> entities) {
+        String graphName = getFetchGraphName();
+        if (graphName == null || entities.isEmpty()) {
+            return entities;
+        }
+        List<Object> ids = new ArrayList<>(entities.size());
+        entities.forEach(entity -> ids.add(getIdentifier(entity)));
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            CriteriaQuery<T> query = cb.createQuery(entityClass);
+            Root<T> root = query.from(entityClass);
+            query.where(root.get(getIdAttributeName()).in(ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()))));
+            entityManager.createQuery(query)
+                    .setHint(FETCH_GRAPH_HINT, entityManager.getEntityGraph(graphName))
+                    .getResultList();
+        }
+        return entities;
+    }
+
+    private Object getVersion(T entity) {
+        return PropertyAccessorFactory.forBeanPropertyAccess(entity).getPropertyValue(getVersionAttributeName());
+    }
+
+    private Object getIdentifier(T entity) {
+        return entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    private int resolvePageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+        return Math.min(size, getMaxPageSize());
+    }
+
+    private String resolveSortProperty(String sortBy) {
+        String idProperty = getIdAttributeName();
+        if (sortBy == null || sortBy.isBlank() || sortBy.equals(idProperty)) {
+            return idProperty;
+        }
+        if (!getSortableProperties().contains(sortBy)) {
+            throw new IllegalArgumentException("Sorting by '" + sortBy + "' is not supported");
+        }
+        return sortBy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> convertKey(String value, Class<?> type) {
+        Object converted;
+        try {
+            converted = conversionService.convert(value, type);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (!(converted instanceof Comparable)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return (Comparable<Object>) converted;
+    }
+
+    private static Order order(CriteriaBuilder cb, Expression<?> expression,
+            boolean ascending) {
+        return ascending ? cb.asc(expression) : cb.desc(expression);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> Class<C> castClass(Class<?> type) {
+        return (Class<C>) type;
+    }
+
     // Hooks for audit/pre/post-processing
     protected void beforeCreate(CommandDTO dto) {
     }
@@ -143,4 +872,20 @@ public abstract class GenericCrudService<T, CommandDTO, ResponseDTO, ID> {
 
     protected void afterDelete(T entity) {
     }
+
+    /**
+     * Called once per chunk of {@link #batchDelete}; defaults to
+     * {@link #beforeDelete} for each entity.
+     */
+    protected void beforeBatchDelete(List<T> entities) {
+        entities.forEach(this::beforeDelete);
+    }
+
+    /**
+     * Called once per chunk of {@link #batchDelete}; defaults to
+     * {@link #afterDelete} for each entity.
+     */
+    protected void afterBatchDelete(List<T> entities) {
+        entities.forEach(this::afterDelete);
+    }
 }
\ No newline at end of file
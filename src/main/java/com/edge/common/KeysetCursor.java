@@ -0,0 +1,50 @@
+package com.edge.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position of the last row returned by a keyset query, encoded as an opaque URL-safe token.
+ * The token carries the sort order it was produced with so that a continuation
+ * always resumes the same ordering.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetCursor {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private String sortBy;
+    private Sort.Direction direction;
+    private String value;
+    private String id;
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to encode cursor", e);
+        }
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            KeysetCursor cursor = MAPPER.readValue(json, KeysetCursor.class);
+            if (cursor.sortBy != null && cursor.direction != null && cursor.id != null) {
+                return cursor;
+            }
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,45 @@
+package com.edge.common;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Serialized responses keyed by entity type, id and {@code @Version}. A new version
+ * gets a new key, so entries never need to be invalidated; superseded ones are
+ * evicted by the byte bound or the expiry.
+ */
+public class ResponseCache {
+    private final Cache<Key, byte[]> cache;
+
+    public ResponseCache(long maximumBytes, Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Key key, byte[] value) -> value.length)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public byte[] get(Class<?> type, Object id, Object version, Supplier<byte[]> serializer) {
+        return cache.get(new Key(type, id, version), key -> serializer.get());
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public long weightedSize() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record Key(Class<?> type, Object id, Object version) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.edge.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A response body together with the {@code @Version} of the entity it was built
+ * from, so an ETag always describes the body it is sent with.
+ */
+@Getter
+@AllArgsConstructor
+public class Versioned<T> {
+    private final Object version;
+    private final T body;
+}
@@ -0,0 +1,23 @@
+package com.edge.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import com.edge.template.util.TracingTaskDecorator;
+
+/**
+ * Enables {@code @Async} methods. Spring Boot applies the decorator to the auto-configured
+ * application task executor, on platform or virtual threads, so async work keeps the
+ * caller's trace and span IDs in its log lines.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator traceContextTaskDecorator() {
+        return new TracingTaskDecorator();
+    }
+}
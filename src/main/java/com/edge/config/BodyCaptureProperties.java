@@ -0,0 +1,44 @@
+package com.edge.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for logging request and response bodies.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logging.body-capture")
+public class BodyCaptureProperties {
+
+    /**
+     * Whether bodies are captured and logged at all
+     */
+    private boolean enabled = false;
+
+    /**
+     * How much of each body is kept; the rest still streams through but is not logged
+     */
+    private DataSize maxSize = DataSize.ofKilobytes(4);
+
+    /**
+     * Path patterns whose bodies may be captured
+     */
+    private List<String> includePaths = new ArrayList<>(List.of("/api/**"));
+
+    /**
+     * Path patterns whose bodies are never captured, checked before the includes
+     */
+    private List<String> excludePaths = new ArrayList<>(List.of("/api/admin/**"));
+
+    /**
+     * Share of matching requests whose bodies are captured, from 0 to 100
+     */
+    private double samplePercentage = 10;
+}
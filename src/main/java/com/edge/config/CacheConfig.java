@@ -0,0 +1,40 @@
+package com.edge.config;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.edge.common.ResponseCache;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Shares one Caffeine JCache manager between the Hibernate second-level cache
+ * and the cache statistics endpoint. Regions are configured in application.conf.
+ * Also provides the serialized response cache used by the generic CRUD base.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class CacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jcacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jcacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, jcacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.response", name = "enabled", matchIfMissing = true)
+    public ResponseCache responseCache(ResponseCacheProperties properties) {
+        return new ResponseCache(properties.getMaximumSize().toBytes(), properties.getExpireAfterWrite());
+    }
+}
@@ -40,6 +40,13 @@ public class LogRedactionProperties {
      * Whether to enable JSON content inspection and redaction
      */
     private boolean jsonRedactionEnabled = true;
+    
+    /**
+     * Optional properties file with runtime redaction rules, watched for changes.
+     * Uses the keys of this prefix: fields, field-types.*, mask-with and
+     * json-redaction-enabled
+     */
+    private String rulesFile;
 
     public boolean isEnabled() {
         return enabled;
@@ -78,4 +85,12 @@ public class LogRedactionProperties {
     public void setJsonRedactionEnabled(boolean jsonRedactionEnabled) {
         this.jsonRedactionEnabled = jsonRedactionEnabled;
     }
+
+    public String getRulesFile() {
+        return rulesFile;
+    }
+
+    public void setRulesFile(String rulesFile) {
+        this.rulesFile = rulesFile;
+    }
 }
@@ -0,0 +1,45 @@
+package com.edge.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the per-request log lines.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logging.requests")
+public class RequestLoggingProperties {
+
+    /**
+     * Share of requests that are logged, from 0 to 100, for paths without a more specific rate
+     */
+    private double defaultSamplePercentage = 100;
+
+    /**
+     * Sample percentage by path pattern; the most specific matching pattern wins
+     * Example: logging.requests.sample-percentages[/api/heartbeat]=1
+     */
+    private Map<String, Double> samplePercentages = new LinkedHashMap<>();
+
+    /**
+     * Requests taking at least this long are logged even when not sampled
+     */
+    private Duration slowRequestThreshold = Duration.ofSeconds(1);
+
+    /**
+     * Logged requests per second allowed for each endpoint; 0 turns the limit off
+     */
+    private double rateLimitPerSecond = 20;
+
+    /**
+     * Logged requests an endpoint may burst above its rate
+     */
+    private int rateLimitBurst = 100;
+}
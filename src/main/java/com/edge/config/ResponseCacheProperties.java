@@ -0,0 +1,33 @@
+package com.edge.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the serialized response cache.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.response")
+public class ResponseCacheProperties {
+
+    /**
+     * Whether single-entity reads are served from cached JSON
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on the total size of the cached JSON documents
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * How long an entry is kept after it was written
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(30);
+}
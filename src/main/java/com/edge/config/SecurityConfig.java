@@ -24,6 +24,7 @@ public class SecurityConfig {
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/api/heartbeat").permitAll()  // Allow heartbeat endpoint without authentication
                 .requestMatchers("/api/secure/admin-only").hasRole("ADMIN")  // Only ADMIN role can access
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")  // Operational endpoints
                 .anyRequest().authenticated()
             )
             .httpBasic(httpBasic -> {})  // Enable HTTP Basic authentication
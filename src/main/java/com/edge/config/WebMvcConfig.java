@@ -1,13 +1,20 @@
 package com.edge.config;
 
+import com.edge.template.service.RedactionRulesService;
+import com.edge.template.util.BodyCaptureFilter;
 import com.edge.template.util.RequestLoggingInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@EnableConfigurationProperties({ BodyCaptureProperties.class, RequestLoggingProperties.class })
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final RequestLoggingInterceptor requestLoggingInterceptor;
@@ -21,4 +28,15 @@ public class WebMvcConfig implements WebMvcConfigurer {
         registry.addInterceptor(requestLoggingInterceptor)
                 .addPathPatterns("/**"); // Apply to all paths
     }
-}
\ No newline at end of file
+
+    /**
+     * Logs sampled request and response bodies. Registered after the security filters,
+     * so only requests that get through authentication are captured.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "logging.body-capture", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<BodyCaptureFilter> bodyCaptureFilter(BodyCaptureProperties properties,
+                                                                      RedactionRulesService redactionRulesService) {
+        return new FilterRegistrationBean<>(new BodyCaptureFilter(properties, redactionRulesService));
+    }
+}
@@ -0,0 +1,326 @@
+package com.edge.config.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.persistence.Entity;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Redacts SLF4J arguments and MDC values by field name before a message is formatted.
+ * <p>
+ * Maps, collections, arrays and Jackson nodes are walked structurally, and any entry
+ * whose key is a configured field is masked. Text found inside those structures goes
+ * through the text redactor. Other objects are treated as DTOs and converted through
+ * Jackson; a DTO with a sensitive property is rendered as masked JSON, otherwise it
+ * is left alone and keeps its own {@code toString()}. Values are copied only along
+ * the path to a masked entry, and an event with nothing to mask is returned as it is.
+ * Top-level text arguments are left to the layout, which scans them in context once
+ * the line is rendered.
+ */
+class ArgumentRedactor {
+    // Deeper structures are left as they are, which also stops self-referencing maps
+    private static final int MAX_DEPTH = 16;
+    private static final String[] OPAQUE_PACKAGES = {
+            "java.", "javax.", "jakarta.", "org.springframework.", "org.hibernate.", "ch.qos.logback."
+    };
+
+    private final RedactionConfig redactionConfig;
+    private final UnaryOperator<String> textRedactor;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+    ArgumentRedactor(RedactionConfig redactionConfig, UnaryOperator<String> textRedactor) {
+        this.redactionConfig = redactionConfig;
+        this.textRedactor = textRedactor;
+    }
+
+    /**
+     * @return a view of the event with masked arguments and MDC values, or the event
+     * itself when nothing had to be masked
+     */
+    ILoggingEvent redact(ILoggingEvent event) {
+        Object[] arguments = event.getArgumentArray();
+        Object[] redactedArguments = arguments == null ? null : redactArray(arguments, -1);
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        Map<String, String> redactedMdc = redactMdc(mdc);
+
+        if (redactedArguments == arguments && redactedMdc == mdc) {
+            return event;
+        }
+        return new RedactedLoggingEvent(event, redactedArguments, redactedMdc);
+    }
+
+    boolean hasSensitiveMdc(ILoggingEvent event) {
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc == null) {
+            return false;
+        }
+        for (String key : mdc.keySet()) {
+            if (redactionConfig.shouldRedact(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether the parts of the event that were not redacted structurally, namely
+     * the message template, the throwable and any argument left as it was, may still
+     * hold a field name and so need the text-scanning fallback.
+     */
+    boolean hasFreeFormFieldNames(ILoggingEvent original, ILoggingEvent redacted, FieldNamePrefilter prefilter) {
+        if (original.getThrowableProxy() != null) {
+            return true;
+        }
+        String template = original.getMessage();
+        if (template != null && prefilter.mayContainField(template)) {
+            return true;
+        }
+        Object[] arguments = original.getArgumentArray();
+        Object[] redactedArguments = redacted.getArgumentArray();
+        if (arguments != null) {
+            for (int i = 0; i < arguments.length; i++) {
+                Object argument = arguments[i];
+                if (argument != null && !isContainer(argument) && redactedArguments[i] == argument
+                        && prefilter.mayContainField(argument.toString())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Map<String, String> redactMdc(Map<String, String> mdc) {
+        if (mdc == null || mdc.isEmpty()) {
+            return mdc;
+        }
+        Map<String, String> result = null;
+        for (Map.Entry<String, String> entry : mdc.entrySet()) {
+            if (redactionConfig.shouldRedact(entry.getKey())) {
+                if (result == null) {
+                    result = new HashMap<>(mdc);
+                }
+                result.put(entry.getKey(), redactionConfig.redactValue(entry.getKey(), entry.getValue()));
+            }
+        }
+        return result == null ? mdc : result;
+    }
+
+    /**
+     * @return the masked value, or the value itself when nothing in it was masked
+     */
+    private Object redactValue(Object value, int depth) {
+        if (value instanceof CharSequence text && depth > 0) {
+            String original = text.toString();
+            String redacted = textRedactor.apply(original);
+            return redacted.equals(original) ? value : redacted;
+        }
+        if (isScalar(value) || depth > MAX_DEPTH) {
+            return value;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return redactMap(map, depth);
+        }
+        if (value instanceof Collection<?> collection) {
+            return redactCollection(collection, depth);
+        }
+        if (value instanceof Object[] array) {
+            return redactArray(array, depth);
+        }
+        if (value instanceof JsonNode node) {
+            return redactNode(node, depth);
+        }
+        if (value.getClass().isArray() || isOpaque(value.getClass())) {
+            return value;
+        }
+        return redactDto(value, depth);
+    }
+
+    /**
+     * Text keeps the field's redaction strategy; any other value, including a nested
+     * structure, is replaced by the redaction string.
+     */
+    private String mask(String fieldName, Object value) {
+        if (value instanceof CharSequence text) {
+            return redactionConfig.redactValue(fieldName, text.toString());
+        }
+        return redactionConfig.getRedactionString();
+    }
+
+    private Object redactMap(Map<?, ?> map, int depth) {
+        Map<Object, Object> result = null;
+        int index = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            Object value = entry.getValue();
+            Object redacted = redactionConfig.shouldRedact(key) ? mask(key, value) : redactValue(value, depth + 1);
+            if (result == null && redacted != value) {
+                // Copy the entries seen so far, keeping the map's iteration order
+                result = new LinkedHashMap<>();
+                Iterator<? extends Map.Entry<?, ?>> seen = map.entrySet().iterator();
+                for (int i = 0; i < index; i++) {
+                    Map.Entry<?, ?> previous = seen.next();
+                    result.put(previous.getKey(), previous.getValue());
+                }
+            }
+            if (result != null) {
+                result.put(entry.getKey(), redacted);
+            }
+            index++;
+        }
+        return result == null ? map : result;
+    }
+
+    private Object redactCollection(Collection<?> collection, int depth) {
+        List<Object> result = null;
+        int index = 0;
+        for (Object element : collection) {
+            Object redacted = redactValue(element, depth + 1);
+            if (result == null && redacted != element) {
+                result = new ArrayList<>(collection.size());
+                Iterator<?> seen = collection.iterator();
+                for (int i = 0; i < index; i++) {
+                    result.add(seen.next());
+                }
+            }
+            if (result != null) {
+                result.add(redacted);
+            }
+            index++;
+        }
+        return result == null ? collection : result;
+    }
+
+    private Object[] redactArray(Object[] array, int depth) {
+        Object[] result = null;
+        for (int i = 0; i < array.length; i++) {
+            Object redacted = redactValue(array[i], depth + 1);
+            if (redacted != array[i]) {
+                if (result == null) {
+                    result = array.clone();
+                }
+                result[i] = redacted;
+            }
+        }
+        return result == null ? array : result;
+    }
+
+    private JsonNode redactNode(JsonNode node, int depth) {
+        if (depth > MAX_DEPTH) {
+            return node;
+        }
+        if (node.isObject()) {
+            ObjectNode result = null;
+            int index = 0;
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); index++) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = field.getValue();
+                JsonNode redacted = redactionConfig.shouldRedact(field.getKey())
+                        ? TextNode.valueOf(mask(field.getKey(), value.isTextual() ? value.textValue() : null))
+                        : redactNode(value, depth + 1);
+                if (result == null && redacted != value) {
+                    // Children are shared with the original, which is never modified
+                    result = JsonNodeFactory.instance.objectNode();
+                    Iterator<Map.Entry<String, JsonNode>> seen = node.fields();
+                    for (int i = 0; i < index; i++) {
+                        Map.Entry<String, JsonNode> previous = seen.next();
+                        result.set(previous.getKey(), previous.getValue());
+                    }
+                }
+                if (result != null) {
+                    result.set(field.getKey(), redacted);
+                }
+            }
+            return result == null ? node : result;
+        }
+        if (node.isTextual() && depth > 0) {
+            String redacted = textRedactor.apply(node.textValue());
+            return redacted.equals(node.textValue()) ? node : TextNode.valueOf(redacted);
+        }
+        if (node.isArray()) {
+            ArrayNode result = null;
+            for (int i = 0; i < node.size(); i++) {
+                JsonNode element = node.get(i);
+                JsonNode redacted = redactNode(element, depth + 1);
+                if (result == null && redacted != element) {
+                    result = JsonNodeFactory.instance.arrayNode(node.size());
+                    for (int j = 0; j < i; j++) {
+                        result.add(node.get(j));
+                    }
+                }
+                if (result != null) {
+                    result.add(redacted);
+                }
+            }
+            return result == null ? node : result;
+        }
+        return node;
+    }
+
+    private Object redactDto(Object value, int depth) {
+        JsonNode tree;
+        try {
+            tree = objectMapper.valueToTree(value);
+        } catch (RuntimeException e) {
+            // Lazy proxies, cycles and other objects Jackson cannot serialize keep their toString()
+            return value;
+        }
+        JsonNode redacted = redactNode(tree, depth);
+        return redacted == tree ? value : redacted;
+    }
+
+    private static boolean isContainer(Object value) {
+        return value instanceof Map<?, ?>
+                || value instanceof Collection<?>
+                || value instanceof Object[]
+                || value instanceof JsonNode;
+    }
+
+    private static boolean isScalar(Object value) {
+        return value == null
+                || value instanceof CharSequence
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Enum<?>
+                || value instanceof TemporalAccessor
+                || value instanceof UUID
+                || value instanceof Class<?>
+                || value instanceof Throwable;
+    }
+
+    /**
+     * Framework types and JPA entities are never converted: walking an entity could
+     * trigger lazy loading from inside a log call.
+     */
+    private static boolean isOpaque(Class<?> type) {
+        if (type.isAnnotationPresent(Entity.class) || HibernateProxy.class.isAssignableFrom(type)) {
+            return true;
+        }
+        String name = type.getName();
+        for (String prefix : OPAQUE_PACKAGES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,300 @@
+package com.edge.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appender that hands events to a bounded queue and writes them to the attached
+ * appenders on a single writer thread, so layout, redaction and encoding happen off
+ * the logging thread.
+ * <p>
+ * Only what the logging thread captured reaches the writer: the formatted message,
+ * the MDC copy and the throwable. The argument objects do not (see
+ * {@link DeferredLoggingEvent}), so they are redacted by field name on the logging
+ * thread, with the rules of the first attached {@link RedactingPatternLayout} or
+ * {@link RedactingJsonEncoder}, and the message is formatted from the redacted
+ * arguments. Redaction downstream then covers the MDC and the rendered text.
+ * <p>
+ * The writer drains the queue in batches of up to {@code maxBatchSize} events. After
+ * each batch it flushes every attached {@link OutputStreamAppender} that has
+ * {@code immediateFlush} turned off, so a buffered file appender makes one write per
+ * batch instead of one per event.
+ * <p>
+ * When the queue is full, {@link OverflowPolicy#BLOCK} makes the caller wait, and
+ * {@link OverflowPolicy#DROP} discards events below WARN once fewer than
+ * {@code discardingThreshold} slots are left. WARN and ERROR are never dropped; they
+ * wait for room under either policy.
+ */
+public class BatchingAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP
+    }
+
+    private static final int UNDEFINED = -1;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private int queueSize = 8192;
+    private int maxBatchSize = 512;
+    private int discardingThreshold = UNDEFINED;
+    private int maxFlushTime = 1000;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread writer;
+    // Supplies the rules for redacting arguments on the logging thread; null when no attached appender redacts
+    private RedactingPatternLayout argumentRules;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No attached appenders found for [" + getName() + "]");
+            return;
+        }
+        if (queueSize < 1 || maxBatchSize < 1) {
+            addError("queueSize and maxBatchSize must be positive for [" + getName() + "]");
+            return;
+        }
+        if (discardingThreshold == UNDEFINED) {
+            discardingThreshold = queueSize / 5;
+        }
+        argumentRules = findRedactingLayout();
+        queue = new ArrayBlockingQueue<>(queueSize);
+        writer = new Thread(this::writeLoop, "logback-writer-" + getName());
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        // Wake the writer so it drains whatever is left and exits
+        writer.interrupt();
+        try {
+            writer.join(maxFlushTime);
+            if (writer.isAlive()) {
+                addWarn("Writer for [" + getName() + "] did not finish within " + maxFlushTime
+                        + "ms, " + queue.size() + " queued events may be lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent loggingEvent) {
+        // Redact the arguments while their structure is still at hand, capture the thread name
+        // and MDC before leaving this thread, and keep the caller's argument objects away from the writer
+        String formattedMessage = formatRedacted(loggingEvent);
+        loggingEvent.prepareForDeferredProcessing();
+        ILoggingEvent event = new DeferredLoggingEvent(loggingEvent, formattedMessage);
+
+        if (event.getLevel().isGreaterOrEqual(Level.WARN) || overflowPolicy == OverflowPolicy.BLOCK) {
+            put(event);
+        } else if (queue.remainingCapacity() < discardingThreshold || !queue.offer(event)) {
+            droppedEvents.increment();
+        }
+    }
+
+    /**
+     * @return the message formatted from arguments masked by field name, see {@link ArgumentRedactor}
+     */
+    private String formatRedacted(ILoggingEvent event) {
+        RedactingPatternLayout layout = argumentRules;
+        Object[] arguments = event.getArgumentArray();
+        if (layout == null || arguments == null || arguments.length == 0 || layout.isBypassed(event)) {
+            return event.getFormattedMessage();
+        }
+        RedactionRuleset rules = layout.getActiveRules();
+        if (rules.isEmpty()) {
+            return event.getFormattedMessage();
+        }
+        return rules.getArgumentRedactor().redact(event).getFormattedMessage();
+    }
+
+    private RedactingPatternLayout findRedactingLayout() {
+        for (Iterator<Appender<ILoggingEvent>> it = appenders.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof OutputStreamAppender<ILoggingEvent> appender) {
+                Encoder<ILoggingEvent> encoder = appender.getEncoder();
+                if (encoder instanceof RedactingJsonEncoder json) {
+                    return json.getMessageLayout();
+                }
+                if (encoder instanceof LayoutWrappingEncoder<ILoggingEvent> wrapping
+                        && wrapping.getLayout() instanceof RedactingPatternLayout layout) {
+                    return layout;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void put(ILoggingEvent event) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    queue.put(event);
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<ILoggingEvent> batch = new ArrayList<>(maxBatchSize);
+        while (isStarted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            write(batch);
+        }
+        // Stopped: write out what is still queued
+        queue.drainTo(batch);
+        write(batch);
+    }
+
+    private void write(List<ILoggingEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (ILoggingEvent event : batch) {
+            appenders.appendLoopOnAppenders(event);
+        }
+        batch.clear();
+        flushBufferedAppenders();
+    }
+
+    private void flushBufferedAppenders() {
+        for (Iterator<Appender<ILoggingEvent>> it = appenders.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof OutputStreamAppender<ILoggingEvent> appender && !appender.isImmediateFlush()) {
+                OutputStream out = appender.getOutputStream();
+                if (out != null) {
+                    try {
+                        out.flush();
+                    } catch (IOException e) {
+                        addError("Failed to flush [" + appender.getName() + "]", e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of events waiting to be written
+     */
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * @return the number of free slots in the queue
+     */
+    public int getRemainingCapacity() {
+        return queue == null ? queueSize : queue.remainingCapacity();
+    }
+
+    /**
+     * @return the number of events discarded because the queue was full
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Under the DROP policy, events below WARN are discarded once fewer than this many
+     * slots are free, which keeps room for WARN and ERROR. Defaults to a fifth of the queue.
+     */
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    /**
+     * How long, in milliseconds, {@link #stop()} waits for queued events to be written
+     */
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
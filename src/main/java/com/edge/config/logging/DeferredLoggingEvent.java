@@ -0,0 +1,141 @@
+package com.edge.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.LoggerContextVO;
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of a logging event that was prepared on the logging thread and is
+ * written on another. It shows the message as formatted on the logging thread, from
+ * the redacted arguments, and hides the argument objects, which still belong to the
+ * caller: walking or formatting them again on the writer thread would race with the
+ * caller changing them, and could trigger lazy loading outside the caller's
+ * persistence context. Layouts downstream therefore redact the formatted text and the
+ * MDC copy only.
+ */
+class DeferredLoggingEvent implements ILoggingEvent {
+
+    private final ILoggingEvent delegate;
+    private final String formattedMessage;
+
+    /**
+     * @param delegate an event on which {@code prepareForDeferredProcessing()} was called
+     * @param formattedMessage the message formatted from the redacted arguments
+     */
+    DeferredLoggingEvent(ILoggingEvent delegate, String formattedMessage) {
+        this.delegate = delegate;
+        this.formattedMessage = formattedMessage;
+    }
+
+    @Override
+    public Object[] getArgumentArray() {
+        return null;
+    }
+
+    /**
+     * @return the formatted message, so the event reads as one logged without arguments
+     */
+    @Override
+    public String getMessage() {
+        return formattedMessage;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        return formattedMessage;
+    }
+
+    @Override
+    public Map<String, String> getMDCPropertyMap() {
+        return delegate.getMDCPropertyMap();
+    }
+
+    @Override
+    @Deprecated
+    public Map<String, String> getMdc() {
+        return delegate.getMDCPropertyMap();
+    }
+
+    @Override
+    public String getThreadName() {
+        return delegate.getThreadName();
+    }
+
+    @Override
+    public Level getLevel() {
+        return delegate.getLevel();
+    }
+
+    @Override
+    public String getLoggerName() {
+        return delegate.getLoggerName();
+    }
+
+    @Override
+    public LoggerContextVO getLoggerContextVO() {
+        return delegate.getLoggerContextVO();
+    }
+
+    @Override
+    public IThrowableProxy getThrowableProxy() {
+        return delegate.getThrowableProxy();
+    }
+
+    @Override
+    public StackTraceElement[] getCallerData() {
+        return delegate.getCallerData();
+    }
+
+    @Override
+    public boolean hasCallerData() {
+        return delegate.hasCallerData();
+    }
+
+    @Override
+    @Deprecated
+    public Marker getMarker() {
+        return delegate.getMarker();
+    }
+
+    @Override
+    public List<Marker> getMarkerList() {
+        return delegate.getMarkerList();
+    }
+
+    @Override
+    public long getTimeStamp() {
+        return delegate.getTimeStamp();
+    }
+
+    @Override
+    public int getNanoseconds() {
+        return delegate.getNanoseconds();
+    }
+
+    @Override
+    public Instant getInstant() {
+        return delegate.getInstant();
+    }
+
+    @Override
+    public long getSequenceNumber() {
+        return delegate.getSequenceNumber();
+    }
+
+    @Override
+    public List<KeyValuePair> getKeyValuePairs() {
+        return delegate.getKeyValuePairs();
+    }
+
+    @Override
+    public void prepareForDeferredProcessing() {
+        // Already prepared
+    }
+}
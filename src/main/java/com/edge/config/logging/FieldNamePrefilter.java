@@ -0,0 +1,71 @@
+package com.edge.config.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cheap check run before redaction that tells whether a message can contain any
+ * configured field name. Field names are bucketed by their first character, so a
+ * scan only compares the message against the few names that start with the
+ * character under the cursor, ignoring case. A {@code false} answer proves that
+ * neither the key/value engine nor the JSON masker would change the message.
+ */
+class FieldNamePrefilter {
+    private static final int ASCII = 128;
+
+    private final String[][] fieldsByFirstChar = new String[ASCII][];
+    // Set when a field name does not start with an ASCII character and cannot be bucketed
+    private final boolean alwaysMatch;
+
+    FieldNamePrefilter(RedactionConfig redactionConfig) {
+        List<List<String>> buckets = new ArrayList<>(ASCII);
+        for (int i = 0; i < ASCII; i++) {
+            buckets.add(null);
+        }
+        boolean unbucketed = false;
+        for (String field : redactionConfig.getFieldNames()) {
+            char first = field.isEmpty() ? 0 : field.charAt(0);
+            if (first == 0 || first >= ASCII) {
+                unbucketed = true;
+                continue;
+            }
+            int bucket = Character.toLowerCase(first);
+            if (buckets.get(bucket) == null) {
+                buckets.set(bucket, new ArrayList<>());
+            }
+            buckets.get(bucket).add(field);
+        }
+        for (int i = 0; i < ASCII; i++) {
+            if (buckets.get(i) != null) {
+                fieldsByFirstChar[i] = buckets.get(i).toArray(String[]::new);
+            }
+        }
+        this.alwaysMatch = unbucketed;
+    }
+
+    /**
+     * @return false only if no configured field name occurs anywhere in the message
+     */
+    boolean mayContainField(String message) {
+        if (alwaysMatch) {
+            return true;
+        }
+        int length = message.length();
+        for (int i = 0; i < length; i++) {
+            char c = Character.toLowerCase(message.charAt(i));
+            if (c >= ASCII) {
+                continue;
+            }
+            String[] candidates = fieldsByFirstChar[c];
+            if (candidates == null) {
+                continue;
+            }
+            for (String field : candidates) {
+                if (message.regionMatches(true, i, field, 0, field.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
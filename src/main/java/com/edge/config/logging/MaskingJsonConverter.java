@@ -1,27 +1,33 @@
 package com.edge.config.logging;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.node.TextNode;
-
-import java.util.Iterator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Handles JSON parsing and masking of sensitive fields in JSON content.
+ * <p>
+ * Every {@code '{'} in the text is treated as a candidate JSON object. The Jackson
+ * streaming parser reads it token by token while a generator writes the same
+ * tokens straight into the output buffer, swapping in the masked value whenever
+ * a sensitive field goes past. No tree is built and no node is copied, and
+ * nesting depth is unlimited. A candidate that turns out not to be JSON is left
+ * exactly as it was.
  */
 public class MaskingJsonConverter {
 
     private final RedactionConfig redactionConfig;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    
-    // Pattern to find JSON objects in a string
-    private static final Pattern JSON_PATTERN = Pattern.compile("\\{[^{}]*((\\{[^{}]*})[^{}]*)*}");
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(JsonFactory.Feature.INTERN_FIELD_NAMES)
+            .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+            .build();
 
     /**
      * Constructor for backward compatibility
@@ -44,91 +50,147 @@ public class MaskingJsonConverter {
      * Masks sensitive data in the given text that may contain JSON objects.
      */
     public String maskSensitiveData(String text) {
+        return maskSensitiveData(text, false);
+    }
+
+    /**
+     * Masks sensitive data in text that may have been cut off at a size limit. With
+     * {@code truncated} set, an object that does not parse is kept up to its last
+     * complete token and the rest of the text is dropped, so a cut-off document is
+     * masked instead of being left as it was.
+     */
+    public String maskSensitiveData(String text, boolean truncated) {
         if (text == null || text.isEmpty()) {
             return text;
         }
 
-        // Find all potential JSON objects in the text
-        Matcher matcher = JSON_PATTERN.matcher(text);
-        StringBuffer result = new StringBuffer();
-
-        while (matcher.find()) {
-            String potentialJson = matcher.group();
-            String maskedJson = potentialJson;
-
-            try {
-                // Try to parse and mask JSON
-                JsonNode jsonNode = objectMapper.readTree(potentialJson);
-                JsonNode maskedNode = maskNode(jsonNode);
-                maskedJson = objectMapper.writeValueAsString(maskedNode);
-            } catch (Exception e) {
-                // If parsing fails, keep the original text
-            }
+        int start = text.indexOf('{');
+        if (start < 0) {
+            return text;
+        }
 
-            matcher.appendReplacement(result, Matcher.quoteReplacement(maskedJson));
+        char[] chars = text.toCharArray();
+        StringBuilder result = new StringBuilder(text.length());
+        BuilderWriter writer = new BuilderWriter(result);
+        int copied = 0;
+
+        while (start >= 0) {
+            result.append(chars, copied, start - copied);
+            int end = maskObject(chars, start, writer, truncated);
+            if (end < 0) {
+                // Not JSON: keep the brace and look for the next candidate inside it
+                result.append('{');
+                copied = start + 1;
+            } else {
+                copied = end;
+            }
+            start = text.indexOf('{', copied);
         }
-        matcher.appendTail(result);
+        result.append(chars, copied, chars.length - copied);
 
         return result.toString();
     }
 
     /**
-     * Recursively masks sensitive fields in a JsonNode.
+     * Streams the JSON object starting at {@code start} into the writer, masking
+     * sensitive fields on the way.
+     *
+     * @return the index just past the closing brace, or -1 if the text at
+     * {@code start} is not a complete JSON object, in which case nothing is written.
+     * With {@code keepPartial} set, an incomplete object is written up to its last
+     * complete token instead and the end of the text is returned.
      */
-    private JsonNode maskNode(JsonNode node) {
-        if (node.isObject()) {
-            return maskObjectNode((ObjectNode) node);
-        } else if (node.isArray()) {
-            return maskArrayNode((ArrayNode) node);
+    private int maskObject(char[] chars, int start, BuilderWriter writer, boolean keepPartial) {
+        int mark = writer.length();
+        try (JsonParser parser = jsonFactory.createParser(chars, start, chars.length - start);
+             JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            int depth = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && redactionConfig.shouldRedact(parser.currentName())) {
+                    String fieldName = parser.currentName();
+                    generator.writeFieldName(fieldName);
+                    writeMasked(parser, generator, fieldName);
+                    continue;
+                }
+
+                generator.copyCurrentEvent(parser);
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd() && --depth == 0) {
+                    generator.flush();
+                    return start + (int) parser.currentTokenLocation().getCharOffset() + 1;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Fall through: not JSON, or truncated
+        } catch (IOException e) {
+            // Writing to a StringBuilder cannot fail, but the API declares it
+        }
+        if (keepPartial) {
+            // Closing the generator flushed the complete tokens, sensitive values already masked
+            return chars.length;
         }
-        return node;
+        writer.truncate(mark);
+        return -1;
     }
 
     /**
-     * Masks sensitive fields in an ObjectNode.
+     * Replaces the value of a sensitive field. Text values go through the field's
+     * redaction strategy; anything else, including whole objects and arrays, is
+     * replaced by the redaction string.
      */
-    private JsonNode maskObjectNode(ObjectNode objectNode) {
-        ObjectNode result = objectNode.deepCopy();
-        Iterator<Map.Entry<String, JsonNode>> fields = result.fields();
-
-        while (fields.hasNext()) {
-            Map.Entry<String, JsonNode> field = fields.next();
-            String fieldName = field.getKey();
-            JsonNode value = field.getValue();
-
-            if (redactionConfig.shouldRedact(fieldName)) {
-                if (value.isTextual()) {
-                    // Apply the appropriate redaction strategy based on field name
-                    String redactedValue = redactionConfig.redactValue(
-                            fieldName, value.asText());
-                    result.set(fieldName, new TextNode(redactedValue));
-                } else {
-                    // For non-text values, use the default redaction string
-                    result.put(fieldName, redactionConfig.getRedactionString());
-                }
-            } else if (value.isObject() || value.isArray()) {
-                // Recursively process nested objects and arrays
-                result.set(fieldName, maskNode(value));
-            }
+    private void writeMasked(JsonParser parser, JsonGenerator generator, String fieldName) throws IOException {
+        JsonToken value = parser.nextToken();
+        if (value == JsonToken.VALUE_STRING) {
+            generator.writeString(redactionConfig.redactValue(fieldName, parser.getText()));
+        } else {
+            parser.skipChildren();
+            generator.writeString(redactionConfig.getRedactionString());
         }
-
-        return result;
     }
 
     /**
-     * Masks sensitive fields in an ArrayNode.
+     * Lets the generator write straight into the result buffer and allows a
+     * failed candidate to be rolled back.
      */
-    private JsonNode maskArrayNode(ArrayNode arrayNode) {
-        ArrayNode result = arrayNode.deepCopy();
-        
-        for (int i = 0; i < result.size(); i++) {
-            JsonNode value = result.get(i);
-            if (value.isObject() || value.isArray()) {
-                result.set(i, maskNode(value));
-            }
+    private static final class BuilderWriter extends Writer {
+
+        private final StringBuilder builder;
+
+        private BuilderWriter(StringBuilder builder) {
+            this.builder = builder;
+        }
+
+        private int length() {
+            return builder.length();
+        }
+
+        private void truncate(int length) {
+            builder.setLength(length);
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            builder.append(buffer, offset, length);
+        }
+
+        @Override
+        public void write(String str, int offset, int length) {
+            builder.append(str, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
         }
-        
-        return result;
     }
 }
-
@@ -0,0 +1,191 @@
+package com.edge.config.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoder that writes each event as one line of JSON with redaction applied as the
+ * fields are written.
+ * <p>
+ * The message goes through a {@link RedactingPatternLayout}, so it gets the same
+ * structured and text redaction as the text appenders, configured with the same
+ * properties. MDC values are masked by key. The trace fields set by
+ * {@code TraceContext} and {@code RequestLoggingInterceptor} are written as top-level
+ * keys, any other MDC entry under {@code "mdc"}. Each thread keeps its own generator
+ * and byte buffer, so an event is generated straight into bytes with no intermediate
+ * JSON String.
+ */
+public class RedactingJsonEncoder extends EncoderBase<ILoggingEvent> {
+    // Buffers that grew past this size are not kept for the next event
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final byte[] EMPTY = new byte[0];
+    private static final List<String> TOP_LEVEL_MDC_KEYS = List.of(
+            "traceId", "spanId", "component", "userId", "clientIp", "processingTimeMs");
+
+    private final RedactingPatternLayout messageLayout = new RedactingPatternLayout();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(this::newBuffer);
+
+    @Override
+    public void start() {
+        messageLayout.setContext(getContext());
+        // %nopex: the stack trace has its own field, so the layout must not append it to the message
+        messageLayout.setPattern("%msg%nopex");
+        messageLayout.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        messageLayout.stop();
+        super.stop();
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        Buffer buffer = buffers.get();
+        try {
+            writeEvent(event, buffer.generator);
+            buffer.generator.flush();
+            buffer.bytes.write('\n');
+            byte[] encoded = buffer.bytes.toByteArray();
+            if (buffer.bytes.size() > MAX_RETAINED_CAPACITY) {
+                buffers.remove();
+            } else {
+                buffer.bytes.reset();
+            }
+            return encoded;
+        } catch (IOException | RuntimeException e) {
+            // A generator that failed halfway through an event cannot be reused
+            buffers.remove();
+            addError("Failed to encode logging event as JSON", e);
+            return EMPTY;
+        }
+    }
+
+    private void writeEvent(ILoggingEvent event, JsonGenerator generator) throws IOException {
+        boolean redact = !messageLayout.isBypassed(event);
+        RedactionRuleset rules = messageLayout.getActiveRules();
+        RedactionConfig config = rules.getConfig();
+
+        generator.writeStartObject();
+        generator.writeStringField("timestamp", event.getInstant().toString());
+        generator.writeStringField("level", event.getLevel().toString());
+        generator.writeStringField("thread", event.getThreadName());
+        generator.writeStringField("logger", event.getLoggerName());
+        generator.writeStringField("message", messageLayout.doLayout(event, rules));
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null && !mdc.isEmpty()) {
+            for (String key : TOP_LEVEL_MDC_KEYS) {
+                String value = mdc.get(key);
+                if (value != null) {
+                    writeMdcField(generator, config, redact, key, value);
+                }
+            }
+            boolean nested = false;
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (TOP_LEVEL_MDC_KEYS.contains(entry.getKey())) {
+                    continue;
+                }
+                if (!nested) {
+                    generator.writeObjectFieldStart("mdc");
+                    nested = true;
+                }
+                writeMdcField(generator, config, redact, entry.getKey(), entry.getValue());
+            }
+            if (nested) {
+                generator.writeEndObject();
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            String stackTrace = ThrowableProxyUtil.asString(throwable);
+            generator.writeStringField("stackTrace", redact ? rules.redactText(stackTrace) : stackTrace);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeMdcField(JsonGenerator generator, RedactionConfig config, boolean redact,
+                                      String key, String value) throws IOException {
+        generator.writeStringField(key, redact && config.shouldRedact(key) ? config.redactValue(key, value) : value);
+    }
+
+    private Buffer newBuffer() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try {
+            JsonGenerator generator = jsonFactory.createGenerator(bytes, JsonEncoding.UTF8);
+            // Events are separated by newlines, not by the default root value separator
+            generator.setRootValueSeparator(null);
+            return new Buffer(bytes, generator);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create JSON generator", e);
+        }
+    }
+
+    private record Buffer(ByteArrayOutputStream bytes, JsonGenerator generator) {
+    }
+
+    RedactingPatternLayout getMessageLayout() {
+        return messageLayout;
+    }
+
+    public void setFieldsToRedact(String fields) {
+        messageLayout.setFieldsToRedact(fields);
+    }
+
+    public void setFieldTypes(String fieldTypeConfig) {
+        messageLayout.setFieldTypes(fieldTypeConfig);
+    }
+
+    public void setRedactionString(String redactionString) {
+        messageLayout.setRedactionString(redactionString);
+    }
+
+    public void setEnableJsonRedaction(boolean enableJsonRedaction) {
+        messageLayout.setEnableJsonRedaction(enableJsonRedaction);
+    }
+
+    public void setTrustedLoggers(String loggers) {
+        messageLayout.setTrustedLoggers(loggers);
+    }
+
+    public void setBypassMarkers(String markers) {
+        messageLayout.setBypassMarkers(markers);
+    }
+
+    /**
+     * @return the number of events whose message went through redaction
+     */
+    public long getRedactedEventCount() {
+        return messageLayout.getRedactedEventCount();
+    }
+
+    /**
+     * @return the number of events whose message was written without redaction
+     */
+    public long getSkippedEventCount() {
+        return messageLayout.getSkippedEventCount();
+    }
+}
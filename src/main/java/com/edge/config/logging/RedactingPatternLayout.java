@@ -2,62 +2,92 @@ package com.edge.config.logging;
 
 import ch.qos.logback.classic.PatternLayout;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.Marker;
 import org.springframework.util.StringUtils;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Custom PatternLayout that redacts sensitive information in log messages.
+ * <p>
+ * Arguments and MDC values are redacted structurally by field name before the line is
+ * formatted (see {@link ArgumentRedactor}). The rendered text is only scanned for
+ * {@code key=value} pairs and JSON as a fallback, when the free-form parts of the
+ * event (message template, text arguments, throwable) may still hold a field name.
+ * <p>
+ * The rules are an immutable {@link RedactionRuleset} read once per event. Rules
+ * published through the context's {@link RedactionRulesHolder} take precedence over
+ * the configured ones, which lets them be changed at runtime without a restart.
  */
 public class RedactingPatternLayout extends PatternLayout {
     
-    private RedactionConfig redactionConfig;
-    private boolean enableJsonRedaction = true;
+    // Rules set through the setters below; only touched while configuring
+    private final RedactionRuleset.Builder configuredRules = RedactionRuleset.builder();
     
-    private static final Pattern SIMPLE_PATTERN = Pattern.compile("(?i)(\\b(?:%s)\\b\\s*[=:]\\s*[\"']?)([^\"'\\s,}{]+)");
+    // Compiled from configuredRules whenever the configuration changes, never per event
+    private volatile RedactionRuleset rules = configuredRules.build();
     
-    public RedactingPatternLayout() {
-        this.redactionConfig = new RedactionConfig("********");
+    // Rules published at runtime for the whole logback context, see RedactionRulesHolder
+    private volatile RedactionRulesHolder sharedRules;
+    
+    // Events from these loggers (and their children) or carrying these markers are never redacted
+    private List<String> trustedLoggers = List.of();
+    private List<String> bypassMarkers = List.of();
+    
+    private final LongAdder redactedEvents = new LongAdder();
+    private final LongAdder skippedEvents = new LongAdder();
+    
+    @Override
+    public void start() {
+        if (getContext() != null) {
+            sharedRules = RedactionRulesHolder.forContext(getContext());
+        }
+        super.start();
     }
     
     @Override
     public String doLayout(ILoggingEvent event) {
+        // One snapshot per event, so a rule change never applies to half of it
+        return doLayout(event, getActiveRules());
+    }
+    
+    /**
+     * Renders and redacts an event with the given rules
+     */
+    String doLayout(ILoggingEvent event, RedactionRuleset ruleset) {
         String message = super.doLayout(event);
         
-        // Skip redaction if no fields are configured or message is empty
-        if (redactionConfig.getFieldNames().isEmpty() || !StringUtils.hasText(message)) {
+        FieldNamePrefilter filter = ruleset.getPrefilter();
+        ArgumentRedactor arguments = ruleset.getArgumentRedactor();
+        // Skip redaction if no fields are configured, the message is empty, the source is
+        // trusted, or no configured field name occurs in the message or among the MDC keys
+        if (ruleset.isEmpty() || !StringUtils.hasText(message) || isBypassed(event)
+                || (!filter.mayContainField(message) && !arguments.hasSensitiveMdc(event))) {
+            skippedEvents.increment();
             return message;
         }
+        redactedEvents.increment();
         
-        // Handle standard log messages with patterns like "password=123456" or "ssn: 123-45-6789"
-        for (String field : redactionConfig.getFieldNames()) {
-            String patternString = String.format(SIMPLE_PATTERN.pattern(), field);
-            Pattern pattern = Pattern.compile(patternString);
-            Matcher matcher = pattern.matcher(message);
-            
-            StringBuffer sb = new StringBuffer();
-            while (matcher.find()) {
-                String value = matcher.group(2);
-                String redactedValue = redactionConfig.redactValue(field, value);
-                matcher.appendReplacement(sb, matcher.group(1) + redactedValue);
-            }
-            matcher.appendTail(sb);
-            message = sb.toString();
-        }
-        
-        // Handle JSON redaction
-        if (enableJsonRedaction && (message.contains("{") && message.contains("}"))) {
-            try {
-                message = new MaskingJsonConverter(redactionConfig).maskSensitiveData(message);
-            } catch (Exception e) {
-                // If JSON parsing fails, continue with the partially redacted message
+        // Redact arguments and MDC values by field name, then render again from the redacted view
+        ILoggingEvent redactedEvent = arguments.redact(event);
+        if (redactedEvent != event) {
+            message = super.doLayout(redactedEvent);
+            if (!arguments.hasFreeFormFieldNames(event, redactedEvent, filter)) {
+                return message;
             }
         }
         
-        return message;
+        return ruleset.redactFreeFormText(message);
+    }
+    
+    /**
+     * @return the rules published for the logback context if any, else the configured rules
+     */
+    RedactionRuleset getActiveRules() {
+        RedactionRulesHolder holder = sharedRules;
+        RedactionRuleset override = holder == null ? null : holder.getOverride();
+        return override != null ? override : rules;
     }
     
     /**
@@ -68,36 +98,9 @@ public class RedactingPatternLayout extends PatternLayout {
             String[] fieldArray = fields.split("\\s*,\\s*");
             for (String field : fieldArray) {
                 // Try to infer redaction type from field name
-                addFieldWithInferredType(field);
+                configuredRules.addField(field);
             }
-        }
-    }
-    
-    /**
-     * Add a field with inferred redaction type based on field name
-     */
-    private void addFieldWithInferredType(String fieldName) {
-        if (fieldName == null || fieldName.isEmpty()) {
-            return;
-        }
-        
-        String lowerField = fieldName.toLowerCase();
-        
-        if (lowerField.contains("password") || lowerField.contains("secret") || lowerField.contains("token") || lowerField.contains("key")) {
-            redactionConfig.addField(fieldName, RedactionType.FULL);
-        } else if (lowerField.contains("credit") || lowerField.contains("card") || lowerField.contains("ccnum")) {
-            redactionConfig.addField(fieldName, RedactionType.CREDIT_CARD);
-        } else if (lowerField.contains("email")) {
-            redactionConfig.addField(fieldName, RedactionType.EMAIL);
-        } else if (lowerField.contains("phone") || lowerField.contains("mobile") || lowerField.contains("cell")) {
-            redactionConfig.addField(fieldName, RedactionType.PHONE);
-        } else if (lowerField.contains("ssn") || lowerField.contains("social") || lowerField.contains("security")) {
-            redactionConfig.addField(fieldName, RedactionType.SSN);
-        } else if (lowerField.contains("address")) {
-            redactionConfig.addField(fieldName, RedactionType.ADDRESS);
-        } else {
-            // Default to full redaction for unrecognized fields
-            redactionConfig.addField(fieldName, RedactionType.FULL);
+            rules = configuredRules.build();
         }
     }
     
@@ -105,6 +108,8 @@ public class RedactingPatternLayout extends PatternLayout {
      * Configure field types explicitly
      * Format: "fieldName=TYPE,fieldName2=TYPE2"
      * Example: "creditCard=CREDIT_CARD,email=EMAIL"
+     * A TYPE may also be the class name of a {@link ValueMasker} with a no-arg constructor
+     * Example: "iban=com.acme.logging.IbanMasker"
      */
     public void setFieldTypes(String fieldTypeConfig) {
         if (StringUtils.hasText(fieldTypeConfig)) {
@@ -113,38 +118,84 @@ public class RedactingPatternLayout extends PatternLayout {
                 String[] parts = pair.split("\\s*=\\s*", 2);
                 if (parts.length == 2) {
                     try {
-                        RedactionType type = RedactionType.valueOf(parts[1].toUpperCase());
-                        redactionConfig.addField(parts[0], type);
+                        configuredRules.addField(parts[0], parts[1]);
                     } catch (IllegalArgumentException e) {
-                        // If type is invalid, default to FULL redaction
-                        redactionConfig.addField(parts[0], RedactionType.FULL);
+                        // Default to FULL redaction for unknown types
+                        addWarn(e.getMessage() + ", using FULL", e);
+                        configuredRules.addField(parts[0], RedactionType.FULL);
                     }
                 }
             }
+            rules = configuredRules.build();
         }
     }
-      public void setRedactionString(String redactionString) {
+    
+    public void setRedactionString(String redactionString) {
         if (StringUtils.hasText(redactionString)) {
-            // Keep field configurations when creating a new RedactionConfig
-            Map<String, RedactionType> oldFieldTypes = new HashMap<>();
-            if (this.redactionConfig != null) {
-                // Copy existing field configs
-                for (String field : this.redactionConfig.getFieldNames()) {
-                    oldFieldTypes.put(field, this.redactionConfig.getRedactionType(field));
+            configuredRules.redactionString(redactionString);
+            rules = configuredRules.build();
+        }
+    }
+    
+    boolean isBypassed(ILoggingEvent event) {
+        String loggerName = event.getLoggerName();
+        if (loggerName != null) {
+            for (String trusted : trustedLoggers) {
+                if (loggerName.startsWith(trusted)
+                        && (loggerName.length() == trusted.length() || loggerName.charAt(trusted.length()) == '.')) {
+                    return true;
                 }
             }
-            
-            // Create new config with updated mask
-            this.redactionConfig = new RedactionConfig(redactionString);
-            
-            // Restore previous field configurations
-            for (Map.Entry<String, RedactionType> entry : oldFieldTypes.entrySet()) {
-                this.redactionConfig.addField(entry.getKey(), entry.getValue());
+        }
+        List<Marker> markers = event.getMarkerList();
+        if (markers != null && !bypassMarkers.isEmpty()) {
+            for (Marker marker : markers) {
+                for (String bypass : bypassMarkers) {
+                    if (marker.contains(bypass)) {
+                        return true;
+                    }
+                }
             }
         }
+        return false;
+    }
+    
+    /**
+     * Loggers whose events skip redaction, including their child loggers
+     * Example: "org.hibernate.SQL,com.edge.health"
+     */
+    public void setTrustedLoggers(String loggers) {
+        this.trustedLoggers = StringUtils.hasText(loggers)
+                ? List.of(loggers.trim().split("\\s*,\\s*"))
+                : List.of();
+    }
+    
+    /**
+     * Marker names that make an event skip redaction
+     * Example: "NO_REDACT"
+     */
+    public void setBypassMarkers(String markers) {
+        this.bypassMarkers = StringUtils.hasText(markers)
+                ? List.of(markers.trim().split("\\s*,\\s*"))
+                : List.of();
+    }
+    
+    /**
+     * @return the number of events that went through redaction
+     */
+    public long getRedactedEventCount() {
+        return redactedEvents.sum();
+    }
+    
+    /**
+     * @return the number of events that were written without redaction
+     */
+    public long getSkippedEventCount() {
+        return skippedEvents.sum();
     }
     
     public void setEnableJsonRedaction(boolean enableJsonRedaction) {
-        this.enableJsonRedaction = enableJsonRedaction;
+        configuredRules.jsonRedactionEnabled(enableJsonRedaction);
+        rules = configuredRules.build();
     }
 }
@@ -1,18 +1,19 @@
 package com.edge.config.logging;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Configuration for field redaction based on field name.
+ * Field names are matched ignoring case, without lowercasing on lookup.
  */
 public class RedactionConfig {
-    private final Map<String, RedactionType> fieldRedactionMap;
+    private final Map<String, ValueMasker> fieldRedactionMap;
     private final String redactionString;
     
     public RedactionConfig(String redactionString) {
-        this.fieldRedactionMap = new HashMap<>();
+        this.fieldRedactionMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         this.redactionString = redactionString;
     }
     
@@ -21,7 +22,7 @@ public class RedactionConfig {
      * @param fieldName The field name to redact
      */
     public void addField(String fieldName) {
-        fieldRedactionMap.put(fieldName.toLowerCase(), RedactionType.FULL);
+        addField(fieldName, RedactionType.FULL);
     }
     
     /**
@@ -30,16 +31,35 @@ public class RedactionConfig {
      * @param redactionType The type of redaction to apply
      */
     public void addField(String fieldName, RedactionType redactionType) {
-        fieldRedactionMap.put(fieldName.toLowerCase(), redactionType);
+        addField(fieldName, (ValueMasker) redactionType);
+    }
+    
+    /**
+     * Add a field with a custom masking strategy
+     * @param fieldName The field name to redact
+     * @param masker The strategy that masks the field's values
+     */
+    public void addField(String fieldName, ValueMasker masker) {
+        fieldRedactionMap.remove(fieldName);
+        fieldRedactionMap.put(fieldName.toLowerCase(), masker);
     }
     
     /**
      * Get the redaction type for a field
      * @param fieldName The field name
-     * @return The redaction type, or null if the field should not be redacted
+     * @return The redaction type, or null if the field should not be redacted or uses a custom masker
      */
     public RedactionType getRedactionType(String fieldName) {
-        return fieldRedactionMap.get(fieldName.toLowerCase());
+        return getMasker(fieldName) instanceof RedactionType type ? type : null;
+    }
+    
+    /**
+     * Get the masking strategy for a field
+     * @param fieldName The field name
+     * @return The masker, or null if the field should not be redacted
+     */
+    public ValueMasker getMasker(String fieldName) {
+        return fieldRedactionMap.get(fieldName);
     }
     
     /**
@@ -48,7 +68,7 @@ public class RedactionConfig {
      * @return true if the field should be redacted, false otherwise
      */
     public boolean shouldRedact(String fieldName) {
-        return fieldRedactionMap.containsKey(fieldName.toLowerCase());
+        return fieldRedactionMap.containsKey(fieldName);
     }
     
     /**
@@ -78,100 +98,32 @@ public class RedactionConfig {
             return value;
         }
         
-        RedactionType type = getRedactionType(fieldName);
-        if (type == null) {
+        ValueMasker masker = getMasker(fieldName);
+        if (masker == null) {
             return value;
         }
-        
-        switch (type) {
-            case FULL:
-                return redactionString;
-                
-            case CREDIT_CARD:
-                return redactCreditCard(value);
-                
-            case EMAIL:
-                return redactEmail(value);
-                
-            case PHONE:
-                return redactPhone(value);
-                
-            case SSN:
-                return redactSSN(value);
-                
-            case ADDRESS:
-                return redactAddress(value);
-                
-            default:
-                return redactionString;
-        }
-    }
-    
-    /**
-     * Redact a credit card number, showing only last 4 digits
-     */
-    private String redactCreditCard(String value) {
-        String cleaned = value.replaceAll("[^0-9]", "");
-        if (cleaned.length() < 4) {
-            return redactionString;
-        }
-        return "**** **** **** " + cleaned.substring(cleaned.length() - 4);
-    }
-      /**
-     * Redact an email address, showing first character and domain
-     */
-    private String redactEmail(String value) {
-        if (!value.contains("@")) {
+        if (masker == RedactionType.FULL) {
             return redactionString;
         }
         
-        String[] parts = value.split("@", 2);
-        if (parts[0].isEmpty()) {
-            return redactionString + "@" + parts[1];
-        }
-        
-        return parts[0].substring(0, 1) + redactionString + "@" + parts[1];
-    }
-    
-    /**
-     * Redact a phone number, showing only last 4 digits
-     */
-    private String redactPhone(String value) {
-        String cleaned = value.replaceAll("[^0-9]", "");
-        if (cleaned.length() < 4) {
-            return redactionString;
-        }
-        return "******" + cleaned.substring(cleaned.length() - 4);
+        StringBuilder out = new StringBuilder(value.length() + redactionString.length());
+        masker.mask(value, redactionString, out);
+        return out.toString();
     }
     
     /**
-     * Redact a SSN/government ID, showing only last 4 digits
-     */
-    private String redactSSN(String value) {
-        String cleaned = value.replaceAll("[^0-9]", "");
-        if (cleaned.length() < 4) {
-            return redactionString;
-        }
-        return "***-**-" + cleaned.substring(cleaned.length() - 4);
-    }
-    
-    /**
-     * Redact an address, showing only city and country if available
+     * Append the redacted form of a value to a buffer, or the value itself if the field
+     * is not redacted
+     * @param fieldName The field name
+     * @param value The value to potentially redact
+     * @param out The buffer to append to
      */
-    private String redactAddress(String value) {
-        // Attempt to extract city and country from address
-        // This is a simple implementation that assumes commas separate address parts
-        String[] parts = value.split(",");
-        if (parts.length <= 1) {
-            return redactionString;
-        }
-        
-        // Return only the last two parts (usually city and country)
-        StringBuilder redacted = new StringBuilder();
-        redacted.append("*****");
-        for (int i = Math.max(1, parts.length - 2); i < parts.length; i++) {
-            redacted.append(",").append(parts[i].trim());
+    public void redactValue(String fieldName, CharSequence value, StringBuilder out) {
+        ValueMasker masker = value == null || value.length() == 0 ? null : getMasker(fieldName);
+        if (masker == null) {
+            out.append(value);
+        } else {
+            masker.mask(value, redactionString, out);
         }
-        return redacted.toString();
     }
 }
@@ -0,0 +1,66 @@
+package com.edge.config.logging;
+
+import java.util.Comparator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Redacts {@code key=value} and {@code key: value} occurrences of the configured
+ * fields in a single pass. The field set is compiled once into one case-insensitive
+ * alternation, so a layout only builds a new engine when its configuration changes.
+ */
+class RedactionEngine {
+    // Buffers that grew past this size are not kept for the next event
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private final RedactionConfig redactionConfig;
+    private final Pattern pattern;
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    RedactionEngine(RedactionConfig redactionConfig) {
+        this.redactionConfig = redactionConfig;
+        if (redactionConfig.getFieldNames().isEmpty()) {
+            this.pattern = null;
+        } else {
+            // Longer names first so that a field is never shadowed by one of its prefixes
+            String fields = redactionConfig.getFieldNames().stream()
+                    .sorted(Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()))
+                    .map(Pattern::quote)
+                    .collect(Collectors.joining("|"));
+            this.pattern = Pattern.compile("\\b(?<key>" + fields + ")\\b\\s*[=:]\\s*[\"']?(?<value>[^\"'\\s,}{]+)",
+                    Pattern.CASE_INSENSITIVE);
+        }
+    }
+
+    boolean isEmpty() {
+        return pattern == null;
+    }
+
+    /**
+     * @return the redacted message, or the message itself when nothing matched
+     */
+    String redact(String message) {
+        if (pattern == null) {
+            return message;
+        }
+        Matcher matcher = pattern.matcher(message);
+        if (!matcher.find()) {
+            return message;
+        }
+        StringBuilder out = buffers.get();
+        out.setLength(0);
+        int last = 0;
+        do {
+            out.append(message, last, matcher.start("value"));
+            redactionConfig.redactValue(matcher.group("key"), matcher.group("value"), out);
+            last = matcher.end();
+        } while (matcher.find());
+        out.append(message, last, message.length());
+        String redacted = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            buffers.remove();
+        }
+        return redacted;
+    }
+}
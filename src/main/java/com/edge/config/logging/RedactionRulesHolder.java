@@ -0,0 +1,57 @@
+package com.edge.config.logging;
+
+import ch.qos.logback.core.Context;
+
+/**
+ * Runtime override of the redaction rules, shared by every redacting layout and encoder
+ * of one logback context.
+ * <p>
+ * The layouts are created by logback from {@code logback-spring.xml}, outside the
+ * Spring context, so the holder is kept in the logback context's object map where both
+ * sides can find it. Log threads only read the volatile reference; publishing a new
+ * ruleset is a single write, so they see either the old rules or the new ones in full.
+ */
+public final class RedactionRulesHolder {
+    static final String CONTEXT_KEY = RedactionRulesHolder.class.getName();
+
+    private volatile RedactionRuleset override;
+
+    private RedactionRulesHolder() {
+    }
+
+    /**
+     * Returns the holder of a logback context, creating it on first use. Called when
+     * components start and when rules are published, never while logging an event.
+     */
+    public static RedactionRulesHolder forContext(Context context) {
+        synchronized (RedactionRulesHolder.class) {
+            if (context.getObject(CONTEXT_KEY) instanceof RedactionRulesHolder existing) {
+                return existing;
+            }
+            RedactionRulesHolder holder = new RedactionRulesHolder();
+            context.putObject(CONTEXT_KEY, holder);
+            return holder;
+        }
+    }
+
+    /**
+     * @return the published rules, or null when each layout uses its configured rules
+     */
+    public RedactionRuleset getOverride() {
+        return override;
+    }
+
+    /**
+     * Replaces the rules of every layout in the context
+     */
+    public void publish(RedactionRuleset ruleset) {
+        this.override = ruleset;
+    }
+
+    /**
+     * Returns every layout to the rules it was configured with
+     */
+    public void clear() {
+        this.override = null;
+    }
+}
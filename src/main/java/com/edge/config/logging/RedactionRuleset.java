@@ -0,0 +1,256 @@
+package com.edge.config.logging;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable, versioned set of redaction rules together with the redactors compiled
+ * from them.
+ * <p>
+ * Everything a log thread needs is built once in the constructor and never changed
+ * afterwards, so a ruleset can be handed to other threads through a single volatile
+ * reference. Changing a rule means building a new ruleset with {@link #toBuilder()}
+ * and swapping the reference; threads that already read the old one finish their
+ * event with it.
+ */
+public final class RedactionRuleset {
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final long version;
+    private final String redactionString;
+    private final boolean jsonRedactionEnabled;
+    private final Map<String, ValueMasker> maskers;
+
+    private final RedactionConfig config;
+    private final RedactionEngine engine;
+    private final MaskingJsonConverter jsonConverter;
+    private final FieldNamePrefilter prefilter;
+    private final ArgumentRedactor argumentRedactor;
+
+    private RedactionRuleset(Builder builder) {
+        this.version = VERSIONS.incrementAndGet();
+        this.redactionString = builder.redactionString;
+        this.jsonRedactionEnabled = builder.jsonRedactionEnabled;
+        this.maskers = Collections.unmodifiableMap(new LinkedHashMap<>(builder.maskers));
+
+        // Private copy, so the compiled redactors cannot be changed behind our back
+        RedactionConfig redactionConfig = new RedactionConfig(redactionString);
+        maskers.forEach(redactionConfig::addField);
+        this.config = redactionConfig;
+        this.engine = new RedactionEngine(config);
+        this.jsonConverter = new MaskingJsonConverter(config);
+        this.prefilter = new FieldNamePrefilter(config);
+        // Text nested inside maps, collections and DTOs gets the same key=value and JSON treatment
+        this.argumentRedactor = new ArgumentRedactor(config, this::redactText);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a builder holding a copy of these rules
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.redactionString = redactionString;
+        builder.jsonRedactionEnabled = jsonRedactionEnabled;
+        builder.maskers.putAll(maskers);
+        return builder;
+    }
+
+    /**
+     * @return a number that increases with every ruleset built in this JVM
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public String getRedactionString() {
+        return redactionString;
+    }
+
+    public boolean isJsonRedactionEnabled() {
+        return jsonRedactionEnabled;
+    }
+
+    /**
+     * @return the redacted field names, lowercased, mapped to their masker
+     */
+    public Map<String, ValueMasker> getMaskers() {
+        return maskers;
+    }
+
+    public boolean isEmpty() {
+        return maskers.isEmpty();
+    }
+
+    RedactionConfig getConfig() {
+        return config;
+    }
+
+    FieldNamePrefilter getPrefilter() {
+        return prefilter;
+    }
+
+    ArgumentRedactor getArgumentRedactor() {
+        return argumentRedactor;
+    }
+
+    /**
+     * Applies the text redaction to a rendered value, such as a message or stack trace,
+     * if it may contain a configured field name.
+     */
+    String redactText(String text) {
+        return prefilter.mayContainField(text) ? redactFreeFormText(text) : text;
+    }
+
+    /**
+     * Text redaction without the field name check: {@code key=value} pairs first, then JSON.
+     */
+    String redactFreeFormText(String text) {
+        // Handle standard log messages with patterns like "password=123456" or "ssn: 123-45-6789"
+        text = engine.redact(text);
+
+        // Handle JSON redaction
+        if (jsonRedactionEnabled && text.contains("{") && text.contains("}")) {
+            try {
+                text = jsonConverter.maskSensitiveData(text);
+            } catch (Exception e) {
+                // If JSON parsing fails, continue with the partially redacted text
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Redacts a captured HTTP body. JSON bodies are always masked as JSON, whether or
+     * not JSON redaction is enabled for log messages, and a body cut off at a size
+     * limit is masked up to the cut.
+     *
+     * @param json Whether the body has a JSON content type
+     * @param truncated Whether the body was cut off
+     */
+    public String redactBody(String body, boolean json, boolean truncated) {
+        if (isEmpty() || body.isEmpty() || !prefilter.mayContainField(body)) {
+            return body;
+        }
+        body = engine.redact(body);
+        return json ? jsonConverter.maskSensitiveData(body, truncated) : body;
+    }
+
+    /**
+     * Collects rule changes for a new {@link RedactionRuleset}. Not thread-safe.
+     */
+    public static final class Builder {
+        private final Map<String, ValueMasker> maskers = new LinkedHashMap<>();
+        private String redactionString = "********";
+        private boolean jsonRedactionEnabled = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Add a field with a redaction type inferred from its name
+         */
+        public Builder addField(String fieldName) {
+            if (fieldName != null && !fieldName.isBlank()) {
+                addField(fieldName, inferType(fieldName));
+            }
+            return this;
+        }
+
+        /**
+         * Add a field with a custom masking strategy
+         */
+        public Builder addField(String fieldName, ValueMasker masker) {
+            maskers.put(fieldName.trim().toLowerCase(), masker);
+            return this;
+        }
+
+        /**
+         * Add a field with a named redaction type
+         * @param type A {@link RedactionType} name, or the class name of a
+         *             {@link ValueMasker} with a no-arg constructor
+         * @throws IllegalArgumentException if the type cannot be resolved
+         */
+        public Builder addField(String fieldName, String type) {
+            return addField(fieldName, resolveMasker(type));
+        }
+
+        public Builder removeField(String fieldName) {
+            maskers.remove(fieldName.trim().toLowerCase());
+            return this;
+        }
+
+        public Builder clearFields() {
+            maskers.clear();
+            return this;
+        }
+
+        public Builder redactionString(String redactionString) {
+            this.redactionString = redactionString;
+            return this;
+        }
+
+        public Builder jsonRedactionEnabled(boolean jsonRedactionEnabled) {
+            this.jsonRedactionEnabled = jsonRedactionEnabled;
+            return this;
+        }
+
+        /**
+         * Compiles the rules. The builder can be changed and built again afterwards.
+         */
+        public RedactionRuleset build() {
+            return new RedactionRuleset(this);
+        }
+    }
+
+    /**
+     * Infers the redaction type from a field name, defaulting to FULL
+     */
+    static RedactionType inferType(String fieldName) {
+        String lowerField = fieldName.toLowerCase();
+
+        if (lowerField.contains("password") || lowerField.contains("secret") || lowerField.contains("token") || lowerField.contains("key")) {
+            return RedactionType.FULL;
+        } else if (lowerField.contains("credit") || lowerField.contains("card") || lowerField.contains("ccnum")) {
+            return RedactionType.CREDIT_CARD;
+        } else if (lowerField.contains("email")) {
+            return RedactionType.EMAIL;
+        } else if (lowerField.contains("phone") || lowerField.contains("mobile") || lowerField.contains("cell")) {
+            return RedactionType.PHONE;
+        } else if (lowerField.contains("ssn") || lowerField.contains("social") || lowerField.contains("security")) {
+            return RedactionType.SSN;
+        } else if (lowerField.contains("address")) {
+            return RedactionType.ADDRESS;
+        }
+        // Default to full redaction for unrecognized fields
+        return RedactionType.FULL;
+    }
+
+    static ValueMasker resolveMasker(String type) {
+        String name = type == null ? "" : type.trim();
+        try {
+            return RedactionType.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            // Not a built-in type: try a custom masker class
+        }
+        Class<?> maskerClass;
+        try {
+            maskerClass = Class.forName(name, true, RedactionRuleset.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalArgumentException("Unknown redaction type " + name, e);
+        }
+        if (!ValueMasker.class.isAssignableFrom(maskerClass)) {
+            throw new IllegalArgumentException(name + " does not implement " + ValueMasker.class.getName());
+        }
+        try {
+            return (ValueMasker) maskerClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot instantiate redaction type " + name, e);
+        }
+    }
+}
@@ -2,40 +2,155 @@ package com.edge.config.logging;
 
 /**
  * Enum defining different types of redaction strategies.
+ * Each type masks at the character level and appends straight into the caller's buffer.
  */
-public enum RedactionType {
+public enum RedactionType implements ValueMasker {
     /**
      * Full redaction - replaces the entire value with a mask
      */
-    FULL,
-    
+    FULL {
+        @Override
+        public void mask(CharSequence value, String redactionString, StringBuilder out) {
+            out.append(redactionString);
+        }
+    },
+
     /**
      * Partial redaction for credit cards - shows only last 4 digits
      * Example: **** **** **** 1234
      */
-    CREDIT_CARD,
-    
+    CREDIT_CARD {
+        @Override
+        public void mask(CharSequence value, String redactionString, StringBuilder out) {
+            appendLastFourDigits(value, "**** **** **** ", redactionString, out);
+        }
+    },
+
     /**
      * Partial redaction for email addresses - shows first character and domain
      * Example: j*****@example.com
      */
-    EMAIL,
-    
+    EMAIL {
+        @Override
+        public void mask(CharSequence value, String redactionString, StringBuilder out) {
+            int at = indexOf(value, '@', 0, value.length());
+            if (at < 0) {
+                out.append(redactionString);
+                return;
+            }
+            if (at > 0) {
+                out.append(value.charAt(0));
+            }
+            out.append(redactionString).append(value, at, value.length());
+        }
+    },
+
     /**
      * Partial redaction for phone numbers - shows only last 4 digits
      * Example: ******1234
      */
-    PHONE,
-    
+    PHONE {
+        @Override
+        public void mask(CharSequence value, String redactionString, StringBuilder out) {
+            appendLastFourDigits(value, "******", redactionString, out);
+        }
+    },
+
     /**
      * Partial redaction for SSN/government IDs - shows only last 4 digits
      * Example: ***-**-1234
      */
-    SSN,
-    
+    SSN {
+        @Override
+        public void mask(CharSequence value, String redactionString, StringBuilder out) {
+            appendLastFourDigits(value, "***-**-", redactionString, out);
+        }
+    },
+
     /**
      * Partial redaction for addresses - shows only city and country
      * Example: *****, New York, USA
      */
-    ADDRESS
+    ADDRESS {
+        @Override
+        public void mask(CharSequence value, String redactionString, StringBuilder out) {
+            // Trailing empty parts do not count, as with String.split(",")
+            int end = value.length();
+            while (end > 0 && value.charAt(end - 1) == ',') {
+                end--;
+            }
+            int lastComma = lastIndexOf(value, ',', end);
+            if (lastComma < 0) {
+                out.append(redactionString);
+                return;
+            }
+            // Keep the last two parts, but never the first one
+            int previousComma = lastIndexOf(value, ',', lastComma);
+            out.append("*****");
+            if (previousComma >= 0) {
+                out.append(',');
+                appendTrimmed(value, previousComma + 1, lastComma, out);
+            }
+            out.append(',');
+            appendTrimmed(value, lastComma + 1, end, out);
+        }
+    };
+
+    /**
+     * Appends the prefix and the last four ASCII digits of the value, or the mask
+     * when the value has fewer than four digits.
+     */
+    private static void appendLastFourDigits(CharSequence value, String prefix, String redactionString,
+                                             StringBuilder out) {
+        int found = 0;
+        int start = value.length();
+        while (start > 0 && found < 4) {
+            if (isDigit(value.charAt(--start))) {
+                found++;
+            }
+        }
+        if (found < 4) {
+            out.append(redactionString);
+            return;
+        }
+        out.append(prefix);
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isDigit(c)) {
+                out.append(c);
+            }
+        }
+    }
+
+    private static void appendTrimmed(CharSequence value, int start, int end, StringBuilder out) {
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        out.append(value, start, end);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int indexOf(CharSequence value, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(CharSequence value, char c, int before) {
+        for (int i = before - 1; i >= 0; i--) {
+            if (value.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
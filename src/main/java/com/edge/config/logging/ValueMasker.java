@@ -0,0 +1,18 @@
+package com.edge.config.logging;
+
+/**
+ * Strategy that masks the value of a sensitive field. The built-in strategies are the
+ * {@link RedactionType} constants; a custom one can be registered for a field with
+ * {@link RedactionConfig#addField(String, ValueMasker)}.
+ */
+@FunctionalInterface
+public interface ValueMasker {
+
+    /**
+     * Append the masked form of a value
+     * @param value The value to mask, never empty
+     * @param redactionString The configured mask
+     * @param out The buffer to append to
+     */
+    void mask(CharSequence value, String redactionString, StringBuilder out);
+}
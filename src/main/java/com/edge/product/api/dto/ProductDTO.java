@@ -11,7 +11,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,6 +35,6 @@ public class ProductDTO {
 
         private Long version;
 
-        @Builder.Default
-        private List<ProductSpecificationDTO> specifications = new ArrayList<>();
+        // Null when the request leaves the specifications out, so updates can keep the stored ones
+        private List<ProductSpecificationDTO> specifications;
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.edge.product.api.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Summary view of a product for list reads, selected directly from the products table.
+ */
+public record ProductSummaryDTO(UUID id, String name, BigDecimal price) {
+}
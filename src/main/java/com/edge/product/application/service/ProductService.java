@@ -1,15 +1,19 @@
 package com.edge.product.application.service;
 
 import com.edge.product.api.dto.ProductDTO;
+import com.edge.product.api.dto.ProductSummaryDTO;
 import com.edge.product.domain.entity.Product;
 import com.edge.common.GenericCrudService;
 import com.edge.product.infrastructure.mapper.ProductMapper;
 import com.edge.product.infrastructure.persistence.ProductRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -17,12 +21,37 @@ import java.util.UUID;
 public class ProductService extends GenericCrudService<Product, ProductDTO, ProductDTO, UUID> {
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
 
+    private final ProductRepository productRepository;
+
     public ProductService(ProductRepository repository, ProductMapper productMapper) {
         super(
                 repository,
                 productMapper::toDTO,
                 dto -> productMapper.toEntity(dto),
-                (entity, dto) -> productMapper.updateEntityFromDto(dto, entity));
+                (entity, dto) -> productMapper.updateEntityFromDto(dto, entity),
+                (entity, dto) -> productMapper.patchEntityFromDto(dto, entity));
+        this.productRepository = repository;
+    }
+
+    @Override
+    protected Set<String> getSortableProperties() {
+        return Set.of("name", "price");
+    }
+
+    @Override
+    protected Class<? extends Record> getSummaryType() {
+        return ProductSummaryDTO.class;
+    }
+
+    // ProductDTO always carries the specifications
+    @Override
+    protected String getFetchGraphName() {
+        return Product.WITH_SPECIFICATIONS;
+    }
+
+    @Override
+    protected JpaSpecificationExecutor<Product> getSpecificationExecutor() {
+        return productRepository;
     }
 
     @Override
@@ -54,4 +83,14 @@ public class ProductService extends GenericCrudService<Product, ProductDTO, Prod
     protected void afterDelete(Product entity) {
         logger.info("afterDelete called for Product: {}", entity);
     }
+
+    @Override
+    protected void beforeBatchDelete(List<Product> entities) {
+        logger.info("beforeBatchDelete called for {} Products", entities.size());
+    }
+
+    @Override
+    protected void afterBatchDelete(List<Product> entities) {
+        logger.info("afterBatchDelete called for {} Products", entities.size());
+    }
 }
\ No newline at end of file
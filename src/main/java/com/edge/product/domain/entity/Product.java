@@ -18,12 +18,15 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "products")
+@NamedEntityGraph(name = Product.WITH_SPECIFICATIONS, attributeNodes = @NamedAttributeNode("specifications"))
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Product {
+        public static final String WITH_SPECIFICATIONS = "Product.withSpecifications";
+
         @Id
         private UUID id;
 
@@ -1,14 +1,33 @@
 package com.edge.product.infrastructure.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import com.edge.template.util.TracePropagationInterceptor;
 
 /**
  * Product-specific configuration.
  * This class can contain beans and configurations specific to the product context.
  */
 @Configuration
+@EnableConfigurationProperties(ProductExternalProperties.class)
 public class ProductConfig {
-    
-    // Example: Add product-specific beans or configuration here
-    
-}
\ No newline at end of file
+
+    /**
+     * Client for the external product services; every call carries the current trace
+     */
+    @Bean
+    public RestClient productExternalRestClient(RestClient.Builder builder, ProductExternalProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getConnectTimeout());
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        return builder
+                .baseUrl(properties.getBaseUrl())
+                .requestFactory(requestFactory)
+                .requestInterceptor(new TracePropagationInterceptor())
+                .build();
+    }
+}
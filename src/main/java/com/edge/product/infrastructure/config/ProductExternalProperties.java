@@ -0,0 +1,32 @@
+package com.edge.product.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the external pricing and catalog services.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.external")
+public class ProductExternalProperties {
+
+    /**
+     * Base URL of the external product services
+     */
+    private String baseUrl = "http://localhost:8081";
+
+    /**
+     * How long to wait for a connection
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * How long to wait for a response
+     */
+    private Duration readTimeout = Duration.ofSeconds(5);
+}
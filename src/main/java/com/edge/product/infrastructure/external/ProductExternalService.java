@@ -1,14 +1,29 @@
 package com.edge.product.infrastructure.external;
 
 import com.edge.product.domain.entity.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Service for integrating with external systems or third-party services related to products.
  * Examples might include product catalog services, pricing services, etc.
+ * Calls go through the product RestClient, which forwards the current trace context.
  */
 @Service
 public class ProductExternalService {
+    private static final Logger logger = LoggerFactory.getLogger(ProductExternalService.class);
+
+    private final RestClient restClient;
+
+    public ProductExternalService(RestClient productExternalRestClient) {
+        this.restClient = productExternalRestClient;
+    }
     
     /**
      * Example method for integration with an external pricing system
@@ -17,8 +32,16 @@ public class ProductExternalService {
      * @return true if the pricing was successfully retrieved
      */
     public boolean fetchExternalPricing(String productId) {
-        // Implementation for calling external pricing API would go here
-        return true;
+        try {
+            restClient.get()
+                    .uri("/pricing/{productId}", productId)
+                    .retrieve()
+                    .toBodilessEntity();
+            return true;
+        } catch (RestClientException e) {
+            logger.warn("Fetching external pricing failed for product {}: {}", productId, e.getMessage());
+            return false;
+        }
     }
     
     /**
@@ -28,7 +51,22 @@ public class ProductExternalService {
      * @return true if successfully sent
      */
     public boolean sendToExternalCatalog(Product product) {
-        // Implementation for sending to external catalog would go here
-        return true;
+        // Only the product's own columns, so its lazy specifications are not loaded
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", product.getId());
+        entry.put("name", product.getName());
+        entry.put("description", product.getDescription());
+        entry.put("price", product.getPrice());
+        try {
+            restClient.post()
+                    .uri("/catalog/products")
+                    .body(entry)
+                    .retrieve()
+                    .toBodilessEntity();
+            return true;
+        } catch (RestClientException e) {
+            logger.warn("Sending product {} to the external catalog failed: {}", product.getId(), e.getMessage());
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
@@ -6,9 +6,12 @@ import com.edge.product.domain.entity.Product;
 import com.edge.product.domain.entity.ProductSpecification;
 
 import org.mapstruct.AfterMapping;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.UUID;
 import java.util.List;
@@ -16,14 +19,25 @@ import java.util.List;
 @Mapper(componentModel = "spring", imports = UUID.class)
 public interface ProductMapper {
 
+    // Map without the builder so that updateSpecifications runs and links the specifications
+    @BeanMapping(builder = @Builder(disableBuilder = true))
     @Mapping(target = "id", expression = "java(dto.getId() == null ? UUID.randomUUID() : dto.getId())")
+    @Mapping(target = "specifications", ignore = true)
     Product toEntity(ProductDTO dto);
 
     ProductDTO toDTO(Product entity);
 
+    // The path id identifies the row; an id in the body must never re-key the entity
+    @Mapping(target = "id", ignore = true)
     @Mapping(target = "specifications", ignore = true)
     void updateEntityFromDto(ProductDTO dto, @MappingTarget Product entity);
 
+    // Partial update for batch PATCH: null properties, specifications included, keep their stored value
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "specifications", ignore = true)
+    void patchEntityFromDto(ProductDTO dto, @MappingTarget Product entity);
+
     // ProductSpecification mapping methods
     @Mapping(target = "id", expression = "java(dto.getId() == null ? UUID.randomUUID() : dto.getId())")
     @Mapping(target = "product", ignore = true)
@@ -36,6 +50,7 @@ public interface ProductMapper {
 
     List<ProductSpecificationDTO> toDTOList(List<ProductSpecification> entityList);
 
+    // Specifications absent from the request (null) are left as they are
     @AfterMapping
     default void updateSpecifications(ProductDTO dto, @MappingTarget Product entity) {
         if (dto.getSpecifications() != null) {
@@ -2,15 +2,16 @@ package com.edge.product.infrastructure.persistence;
 
 import com.edge.product.domain.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 /**
  * Product repository interface in the infrastructure layer.
- * Extends Spring Data JpaRepository.
+ * Extends Spring Data JpaRepository and JpaSpecificationExecutor.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
     // Add any custom query methods you need
 }
\ No newline at end of file
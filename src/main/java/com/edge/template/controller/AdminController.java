@@ -0,0 +1,107 @@
+package com.edge.template.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.edge.template.service.CacheStatisticsService;
+import com.edge.template.service.LoggingStatisticsService;
+import com.edge.template.service.RedactionRulesService;
+import com.edge.template.util.LatencyHistogram;
+import com.edge.template.util.LatencyStatistics;
+
+import java.security.Principal;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+    private final RedactionRulesService redactionRulesService;
+    private final LoggingStatisticsService loggingStatisticsService;
+
+    public AdminController(CacheStatisticsService cacheStatisticsService,
+                           RedactionRulesService redactionRulesService,
+                           LoggingStatisticsService loggingStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.redactionRulesService = redactionRulesService;
+        this.loggingStatisticsService = loggingStatisticsService;
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> cacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getCacheStatistics());
+    }
+
+    /**
+     * Reports the async log queue depth and dropped events, and the redacted and
+     * skipped events of each redacting layout and encoder, since startup
+     */
+    @GetMapping("/logging")
+    public ResponseEntity<Map<String, Object>> loggingStatistics() {
+        return ResponseEntity.ok(loggingStatisticsService.getLoggingStatistics());
+    }
+
+    @GetMapping("/redaction")
+    public ResponseEntity<Map<String, Object>> redactionRules() {
+        return ResponseEntity.ok(redactionRulesService.describeRules());
+    }
+
+    /**
+     * Replaces all redaction rules until the next change or reset
+     */
+    @PutMapping("/redaction")
+    public ResponseEntity<Map<String, Object>> replaceRedactionRules(
+            @RequestBody RedactionRulesService.RuleUpdate update, Principal principal) {
+        redactionRulesService.replaceRules(update, principal.getName());
+        return ResponseEntity.ok(redactionRulesService.describeRules());
+    }
+
+    /**
+     * Adds a redacted field, with its type inferred from the name unless given
+     */
+    @PutMapping("/redaction/fields/{field}")
+    public ResponseEntity<Map<String, Object>> addRedactedField(@PathVariable String field,
+            @RequestParam(required = false) String type, Principal principal) {
+        redactionRulesService.addField(field, type, principal.getName());
+        return ResponseEntity.ok(redactionRulesService.describeRules());
+    }
+
+    @DeleteMapping("/redaction/fields/{field}")
+    public ResponseEntity<Map<String, Object>> removeRedactedField(@PathVariable String field,
+            Principal principal) {
+        redactionRulesService.removeField(field, principal.getName());
+        return ResponseEntity.ok(redactionRulesService.describeRules());
+    }
+
+    /**
+     * Returns to the rules from the application properties
+     */
+    @DeleteMapping("/redaction")
+    public ResponseEntity<Map<String, Object>> resetRedactionRules(Principal principal) {
+        redactionRulesService.resetRules(principal.getName());
+        return ResponseEntity.ok(redactionRulesService.describeRules());
+    }
+
+    /**
+     * Reports count, mean, p50, p99, p999 and max latency in milliseconds per component
+     * and per endpoint since startup or the last reset
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<Map<String, Map<String, LatencyHistogram.Snapshot>>> latency() {
+        return ResponseEntity.ok(LatencyStatistics.snapshot());
+    }
+
+    @DeleteMapping("/latency")
+    public ResponseEntity<Void> resetLatency() {
+        LatencyStatistics.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
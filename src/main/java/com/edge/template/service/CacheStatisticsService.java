@@ -0,0 +1,64 @@
+package com.edge.template.service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import com.edge.common.ResponseCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class CacheStatisticsService {
+
+    // Reported next to the second-level cache regions
+    private static final String RESPONSE_CACHE = "responses";
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<ResponseCache> responseCache;
+
+    public CacheStatisticsService(CacheManager cacheManager, ObjectProvider<ResponseCache> responseCache) {
+        this.cacheManager = cacheManager;
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Collects the Caffeine counters of every second-level cache region and of
+     * the serialized response cache
+     *
+     * @return Map of region name to its size, hit, miss and eviction counts
+     */
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> regions = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache<Object, Object> cache = cacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine =
+                    cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            regions.put(name, describe(caffeine.estimatedSize(), caffeine.stats()));
+        }
+        responseCache.ifAvailable(cache -> {
+            Map<String, Object> region = describe(cache.estimatedSize(), cache.stats());
+            region.put("bytes", cache.weightedSize());
+            regions.put(RESPONSE_CACHE, region);
+        });
+        return regions;
+    }
+
+    private static Map<String, Object> describe(long size, CacheStats stats) {
+        Map<String, Object> region = new LinkedHashMap<>();
+        region.put("size", size);
+        region.put("hits", stats.hitCount());
+        region.put("misses", stats.missCount());
+        region.put("hitRate", stats.hitRate());
+        region.put("evictions", stats.evictionCount());
+        return region;
+    }
+}
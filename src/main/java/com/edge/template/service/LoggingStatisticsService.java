@@ -0,0 +1,86 @@
+package com.edge.template.service;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.edge.config.logging.BatchingAsyncAppender;
+import com.edge.config.logging.RedactingJsonEncoder;
+import com.edge.config.logging.RedactingPatternLayout;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.spi.AppenderAttachable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class LoggingStatisticsService {
+
+    /**
+     * Collects the counters of the logback appenders: queue depth and dropped events
+     * of the async appenders, and redacted and skipped events of the redacting layouts
+     * and encoders behind them
+     *
+     * @return Map of appender name to its counters; empty when logback is not the backend
+     */
+    public Map<String, Object> getLoggingStatistics() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        return loggerFactory instanceof LoggerContext context ? getLoggingStatistics(context) : new TreeMap<>();
+    }
+
+    static Map<String, Object> getLoggingStatistics(LoggerContext context) {
+        Map<String, Object> appenders = new TreeMap<>();
+        for (Logger logger : context.getLoggerList()) {
+            collect(logger, appenders);
+        }
+        return appenders;
+    }
+
+    private static void collect(AppenderAttachable<ILoggingEvent> attachable, Map<String, Object> appenders) {
+        for (Iterator<Appender<ILoggingEvent>> it = attachable.iteratorForAppenders(); it.hasNext(); ) {
+            Appender<ILoggingEvent> appender = it.next();
+            if (appenders.containsKey(appender.getName())) {
+                continue;
+            }
+            Map<String, Object> counters = describe(appender);
+            if (!counters.isEmpty()) {
+                appenders.put(appender.getName(), counters);
+            }
+            if (appender instanceof AppenderAttachable<?>) {
+                @SuppressWarnings("unchecked")
+                AppenderAttachable<ILoggingEvent> nested = (AppenderAttachable<ILoggingEvent>) appender;
+                collect(nested, appenders);
+            }
+        }
+    }
+
+    private static Map<String, Object> describe(Appender<ILoggingEvent> appender) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        if (appender instanceof BatchingAsyncAppender async) {
+            counters.put("queueDepth", async.getQueueDepth());
+            counters.put("remainingCapacity", async.getRemainingCapacity());
+            counters.put("droppedEvents", async.getDroppedEventCount());
+        }
+        if (appender instanceof OutputStreamAppender<ILoggingEvent> output) {
+            Encoder<ILoggingEvent> encoder = output.getEncoder();
+            if (encoder instanceof RedactingJsonEncoder json) {
+                counters.put("redactedEvents", json.getRedactedEventCount());
+                counters.put("skippedEvents", json.getSkippedEventCount());
+            } else if (encoder instanceof LayoutWrappingEncoder<ILoggingEvent> wrapping
+                    && wrapping.getLayout() instanceof RedactingPatternLayout layout) {
+                counters.put("redactedEvents", layout.getRedactedEventCount());
+                counters.put("skippedEvents", layout.getSkippedEventCount());
+            }
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,271 @@
+package com.edge.template.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.edge.config.LogRedactionProperties;
+import com.edge.config.logging.RedactionRuleset;
+import com.edge.config.logging.RedactionRulesHolder;
+import com.edge.config.logging.ValueMasker;
+
+import ch.qos.logback.classic.LoggerContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Changes the log redaction rules at runtime, from the admin API or a watched file.
+ * <p>
+ * Each change compiles a new {@link RedactionRuleset} and publishes it to the logback
+ * context's {@link RedactionRulesHolder}, which every redacting layout and encoder
+ * reads once per event. Changes are serialized here, so log threads never wait on them.
+ */
+@Service
+public class RedactionRulesService {
+
+    private static final Logger log = LoggerFactory.getLogger(RedactionRulesService.class);
+
+    // Keys of the rules file, the same as the logging.redaction properties
+    private static final String FIELDS_KEY = "fields";
+    private static final String FIELD_TYPES_PREFIX = "field-types.";
+    private static final String MASK_WITH_KEY = "mask-with";
+    private static final String JSON_REDACTION_KEY = "json-redaction-enabled";
+
+    private final LogRedactionProperties properties;
+    private final RedactionRuleset configuredRules;
+
+    private WatchService watchService;
+
+    public RedactionRulesService(LogRedactionProperties properties) {
+        this.properties = properties;
+        this.configuredRules = toRuleset(new RuleUpdate(properties.getFields(), properties.getFieldTypes(),
+                properties.getMaskWith(), properties.isJsonRedactionEnabled()));
+    }
+
+    /**
+     * Full set of rules to apply. Null members fall back to the configured properties.
+     */
+    public record RuleUpdate(List<String> fields, Map<String, String> fieldTypes, String maskWith,
+                             Boolean jsonRedactionEnabled) {
+    }
+
+    /**
+     * @return the published rules, or the rules built from the configured properties
+     */
+    public RedactionRuleset getActiveRules() {
+        RedactionRulesHolder holder = holder();
+        RedactionRuleset override = holder == null ? null : holder.getOverride();
+        return override != null ? override : configuredRules;
+    }
+
+    /**
+     * Describes the active rules
+     *
+     * @return Map with the version, mask, field types and whether the rules were changed at runtime
+     */
+    public Map<String, Object> describeRules() {
+        RedactionRuleset rules = getActiveRules();
+        Map<String, String> fieldTypes = new TreeMap<>();
+        for (Map.Entry<String, ValueMasker> entry : rules.getMaskers().entrySet()) {
+            ValueMasker masker = entry.getValue();
+            fieldTypes.put(entry.getKey(), masker instanceof Enum<?> type ? type.name() : masker.getClass().getName());
+        }
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("version", rules.getVersion());
+        description.put("overridden", rules != configuredRules);
+        description.put("maskWith", rules.getRedactionString());
+        description.put("jsonRedactionEnabled", rules.isJsonRedactionEnabled());
+        description.put("fieldTypes", fieldTypes);
+        return description;
+    }
+
+    /**
+     * Replaces the active rules
+     *
+     * @throws IllegalArgumentException if a field type is unknown or the mask is empty
+     */
+    public synchronized RedactionRuleset replaceRules(RuleUpdate update, String source) {
+        return publish(toRuleset(update), source);
+    }
+
+    /**
+     * Adds a field to the active rules, or changes its type
+     *
+     * @param type A redaction type or masker class name, or null to infer it from the field name
+     */
+    public synchronized RedactionRuleset addField(String field, String type, String source) {
+        RedactionRuleset.Builder builder = getActiveRules().toBuilder();
+        if (StringUtils.hasText(type)) {
+            builder.addField(field, type);
+        } else {
+            builder.addField(field);
+        }
+        return publish(builder.build(), source);
+    }
+
+    /**
+     * Removes a field from the active rules
+     */
+    public synchronized RedactionRuleset removeField(String field, String source) {
+        return publish(getActiveRules().toBuilder().removeField(field).build(), source);
+    }
+
+    /**
+     * Returns to the rules built from the configured properties
+     */
+    public synchronized RedactionRuleset resetRules(String source) {
+        RedactionRulesHolder holder = requireHolder();
+        holder.clear();
+        log.info("Redaction rules reset to configured version {} by {}", configuredRules.getVersion(), source);
+        return configuredRules;
+    }
+
+    private RedactionRuleset publish(RedactionRuleset rules, String source) {
+        requireHolder().publish(rules);
+        log.info("Redaction rules version {} with {} fields applied by {}",
+                rules.getVersion(), rules.getMaskers().size(), source);
+        return rules;
+    }
+
+    private RedactionRuleset toRuleset(RuleUpdate update) {
+        String maskWith = update.maskWith() != null ? update.maskWith() : properties.getMaskWith();
+        if (!StringUtils.hasText(maskWith)) {
+            throw new IllegalArgumentException("maskWith must not be empty");
+        }
+        RedactionRuleset.Builder builder = RedactionRuleset.builder()
+                .redactionString(maskWith)
+                .jsonRedactionEnabled(update.jsonRedactionEnabled() != null
+                        ? update.jsonRedactionEnabled()
+                        : properties.isJsonRedactionEnabled());
+        if (update.fields() != null) {
+            update.fields().forEach(builder::addField);
+        }
+        if (update.fieldTypes() != null) {
+            update.fieldTypes().forEach(builder::addField);
+        }
+        return builder.build();
+    }
+
+    private static RedactionRulesHolder holder() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        return loggerFactory instanceof LoggerContext context ? RedactionRulesHolder.forContext(context) : null;
+    }
+
+    private static RedactionRulesHolder requireHolder() {
+        RedactionRulesHolder holder = holder();
+        if (holder == null) {
+            throw new IllegalStateException("Runtime redaction rules require Logback");
+        }
+        return holder;
+    }
+
+    /**
+     * Applies the rules file, if one is configured, and reloads it whenever it changes
+     */
+    @PostConstruct
+    public void watchRulesFile() {
+        if (!StringUtils.hasText(properties.getRulesFile())) {
+            return;
+        }
+        Path file = Path.of(properties.getRulesFile()).toAbsolutePath();
+        if (Files.exists(file)) {
+            reloadRulesFile(file);
+        }
+        try {
+            watchService = file.getFileSystem().newWatchService();
+            // Watch the directory, so files replaced by a rename are noticed too
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            log.warn("Cannot watch redaction rules file {}", file, e);
+            return;
+        }
+        Thread watcher = new Thread(() -> watch(file), "redaction-rules-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    public void stopWatching() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch(Path file) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                changed |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                        || file.getFileName().equals(event.context());
+            }
+            if (changed) {
+                reloadRulesFile(file);
+            }
+            if (!key.reset()) {
+                log.warn("Stopped watching redaction rules file {}", file);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies the rules in a properties file, or the configured rules once the file is
+     * deleted. A file that cannot be read or holds an unknown type leaves the rules unchanged.
+     */
+    void reloadRulesFile(Path file) {
+        if (!Files.exists(file)) {
+            resetRules(file.toString());
+            return;
+        }
+        Properties rules = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            rules.load(reader);
+            replaceRules(toRuleUpdate(rules), file.toString());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring redaction rules file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static RuleUpdate toRuleUpdate(Properties rules) {
+        String fields = rules.getProperty(FIELDS_KEY);
+        Map<String, String> fieldTypes = new LinkedHashMap<>();
+        for (String key : rules.stringPropertyNames()) {
+            if (key.startsWith(FIELD_TYPES_PREFIX)) {
+                fieldTypes.put(key.substring(FIELD_TYPES_PREFIX.length()), rules.getProperty(key).trim());
+            }
+        }
+        String jsonRedaction = rules.getProperty(JSON_REDACTION_KEY);
+        return new RuleUpdate(
+                StringUtils.hasText(fields) ? Arrays.asList(fields.trim().split("\\s*,\\s*")) : List.of(),
+                fieldTypes,
+                rules.getProperty(MASK_WITH_KEY),
+                jsonRedaction != null ? Boolean.valueOf(jsonRedaction.trim()) : null);
+    }
+}
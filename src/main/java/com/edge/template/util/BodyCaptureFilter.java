@@ -0,0 +1,381 @@
+package com.edge.template.util;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.edge.config.BodyCaptureProperties;
+import com.edge.template.service.RedactionRulesService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filter that logs the start of request and response bodies for a sample of requests.
+ * <p>
+ * Bodies are teed as they stream through: every byte is passed on immediately and
+ * only the first {@code maxSize} bytes of each body are kept, so a capture costs at
+ * most twice that per request however large the body is. The captured text is
+ * redacted with the active redaction rules before it is logged; a body cut off at the
+ * limit is masked up to the cut. Form parameters read through {@code getParameter}
+ * bypass the request stream and are not captured.
+ */
+public class BodyCaptureFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BodyCaptureFilter.class);
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final byte[] EMPTY = new byte[0];
+    private static final String TRUNCATED = "...(truncated)";
+
+    private final int maxSize;
+    private final List<String> includePaths;
+    private final List<String> excludePaths;
+    private final double samplePercentage;
+    private final RedactionRulesService redactionRulesService;
+
+    public BodyCaptureFilter(BodyCaptureProperties properties, RedactionRulesService redactionRulesService) {
+        this.maxSize = (int) Math.min(Integer.MAX_VALUE, properties.getMaxSize().toBytes());
+        this.includePaths = List.copyOf(properties.getIncludePaths());
+        this.excludePaths = List.copyOf(properties.getExcludePaths());
+        this.samplePercentage = properties.getSamplePercentage();
+        this.redactionRulesService = redactionRulesService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (matchesAny(excludePaths, path) || !matchesAny(includePaths, path)) {
+            return true;
+        }
+        return samplePercentage < 100 && ThreadLocalRandom.current().nextDouble(100) >= samplePercentage;
+    }
+
+    private static boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        CapturingRequest capturingRequest = new CapturingRequest(request, maxSize);
+        CapturingResponse capturingResponse = new CapturingResponse(response, maxSize);
+
+        filterChain.doFilter(capturingRequest, capturingResponse);
+        capturingResponse.flushWriter();
+
+        if (isAsyncStarted(capturingRequest)) {
+            // The response is written later, log once it is complete
+            capturingRequest.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) throws IOException {
+                    capturingResponse.flushWriter();
+                    logCapture(capturingRequest, capturingResponse);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            logCapture(capturingRequest, capturingResponse);
+        }
+    }
+
+    private void logCapture(CapturingRequest request, CapturingResponse response) {
+        // The interceptor has cleared the MDC by now; bring back the trace ID for this line
+        Object traceId = request.getAttribute(RequestLoggingInterceptor.TRACE_ID_ATTRIBUTE);
+        boolean restoreTraceId = traceId != null && MDC.get(TraceContext.TRACE_ID) == null;
+        if (restoreTraceId) {
+            MDC.put(TraceContext.TRACE_ID, traceId.toString());
+        }
+        try {
+            logger.info("Captured bodies: {} {} | Status: {} | Request ({} bytes): {} | Response ({} bytes): {}",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    response.getStatus(),
+                    request.capture.total(),
+                    describe(request.capture, request.getContentType(), request.getCharacterEncoding()),
+                    response.capture.total(),
+                    describe(response.capture, response.getContentType(), response.getCharacterEncoding()));
+        } finally {
+            if (restoreTraceId) {
+                MDC.remove(TraceContext.TRACE_ID);
+            }
+        }
+    }
+
+    /**
+     * Decodes and redacts a captured body, or describes it if it is not text
+     */
+    private String describe(CaptureBuffer capture, String contentType, String encoding) {
+        if (capture.total() == 0) {
+            return "";
+        }
+        if (!isText(contentType)) {
+            return "[" + contentType + "]";
+        }
+        boolean json = contentType != null && contentType.contains("json");
+        // JSON is UTF-8, whatever the servlet default encoding is
+        Charset charset = json || encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        String body = redactionRulesService.getActiveRules()
+                .redactBody(capture.toString(charset), json, capture.isTruncated());
+        return capture.isTruncated() ? body + TRUNCATED : body;
+    }
+
+    private static boolean isText(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+                || type.startsWith("application/x-www-form-urlencoded");
+    }
+
+    /**
+     * Keeps the first bytes written to it, up to a limit, and counts all of them
+     */
+    private static final class CaptureBuffer {
+        private final int limit;
+        private byte[] bytes = EMPTY;
+        private int size;
+        private long total;
+
+        CaptureBuffer(int limit) {
+            this.limit = limit;
+        }
+
+        void write(int b) {
+            total++;
+            if (size < limit) {
+                ensureCapacity(size + 1);
+                bytes[size++] = (byte) b;
+            }
+        }
+
+        void write(byte[] b, int off, int len) {
+            total += len;
+            int kept = Math.min(len, limit - size);
+            if (kept > 0) {
+                ensureCapacity(size + kept);
+                System.arraycopy(b, off, bytes, size, kept);
+                size += kept;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                // Grow with the body rather than reserving the limit for every request
+                bytes = Arrays.copyOf(bytes, Math.min(limit, Math.max(capacity, Math.max(256, bytes.length * 2))));
+            }
+        }
+
+        long total() {
+            return total;
+        }
+
+        boolean isTruncated() {
+            return total > size;
+        }
+
+        String toString(Charset charset) {
+            return new String(bytes, 0, size, charset);
+        }
+    }
+
+    private static final class CapturingRequest extends HttpServletRequestWrapper {
+        private final CaptureBuffer capture;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        CapturingRequest(HttpServletRequest request, int maxSize) {
+            super(request);
+            this.capture = new CaptureBuffer(maxSize);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new TeeInputStream(super.getInputStream(), capture);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+    }
+
+    private static final class CapturingResponse extends HttpServletResponseWrapper {
+        private final CaptureBuffer capture;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CapturingResponse(HttpServletResponse response, int maxSize) {
+            super(response);
+            this.capture = new CaptureBuffer(maxSize);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new TeeOutputStream(super.getOutputStream(), capture);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        /**
+         * Pushes characters still buffered in our writer to the response
+         */
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static final class TeeInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+        private final CaptureBuffer capture;
+
+        TeeInputStream(ServletInputStream delegate, CaptureBuffer capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                capture.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = delegate.read(b, off, len);
+            if (read > 0) {
+                capture.write(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    private static final class TeeOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final CaptureBuffer capture;
+
+        TeeOutputStream(ServletOutputStream delegate, CaptureBuffer capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
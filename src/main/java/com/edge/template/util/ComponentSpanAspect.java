@@ -0,0 +1,27 @@
+package com.edge.template.util;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a {@link TraceContext} span around calls into services and repositories, so
+ * their log lines carry the component name and their latency is recorded per component.
+ * Calls a bean makes to its own methods bypass the proxy and stay in the caller's span.
+ */
+@Aspect
+@Component
+public class ComponentSpanAspect {
+
+    @Around("execution(public * com.edge..*(..)) && (@within(org.springframework.stereotype.Service)"
+            + " || within(com.edge.common.GenericRepository+))")
+    public Object inSpan(ProceedingJoinPoint joinPoint) throws Throwable {
+        TraceContext.startSpan(joinPoint.getTarget().getClass().getSimpleName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            TraceContext.endSpan();
+        }
+    }
+}
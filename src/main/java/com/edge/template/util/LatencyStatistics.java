@@ -0,0 +1,60 @@
+package com.edge.template.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process latency histograms per component (from {@link TraceContext} spans) and
+ * per endpoint (from {@link RequestLoggingInterceptor}).
+ */
+public final class LatencyStatistics {
+    // Names beyond this many share one histogram, so a bug cannot grow the maps without bound
+    private static final int MAX_NAMES = 1000;
+    private static final String OTHER = "other";
+
+    private static final ConcurrentMap<String, LatencyHistogram> COMPONENTS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LatencyHistogram> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private LatencyStatistics() {
+    }
+
+    public static void recordComponent(String component, long nanos) {
+        histogram(COMPONENTS, component).record(nanos);
+    }
+
+    public static void recordEndpoint(String endpoint, long nanos) {
+        histogram(ENDPOINTS, endpoint).record(nanos);
+    }
+
+    private static LatencyHistogram histogram(ConcurrentMap<String, LatencyHistogram> histograms, String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram != null) {
+            return histogram;
+        }
+        String key = histograms.size() < MAX_NAMES ? name : OTHER;
+        return histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+    /**
+     * @return Map with the latency percentiles in milliseconds by component and by endpoint
+     */
+    public static Map<String, Map<String, LatencyHistogram.Snapshot>> snapshot() {
+        return Map.of("components", snapshot(COMPONENTS), "endpoints", snapshot(ENDPOINTS));
+    }
+
+    private static Map<String, LatencyHistogram.Snapshot> snapshot(Map<String, LatencyHistogram> histograms) {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Drops all recorded values
+     */
+    public static void reset() {
+        COMPONENTS.clear();
+        ENDPOINTS.clear();
+    }
+}
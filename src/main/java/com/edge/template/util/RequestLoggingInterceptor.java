@@ -1,5 +1,6 @@
 package com.edge.template.util;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -10,11 +11,19 @@ import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.ModelAndView;
 
+import com.edge.config.RequestLoggingProperties;
+
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Interceptor that logs HTTP requests and adds request context to the MDC.
@@ -22,64 +31,120 @@ import java.util.Map;
  * 
  * Supports receiving trace IDs from Angular clients via the X-Trace-ID header,
  * which enables end-to-end tracing across the full stack.
+ * 
+ * Also accepts the W3C traceparent and tracestate headers from other services,
+ * whose sampled flag then decides whether the request is logged.
+ * 
+ * Requests are logged for a sample of paths, and failed or slow requests always.
+ * A token bucket per endpoint caps how many requests per second are logged.
+ * The time from arrival to completion is recorded per endpoint in {@link LatencyStatistics}.
+ * 
+ * Nothing is kept on the thread between requests, so it works the same on a platform
+ * thread pool and with one virtual thread per request. Async requests take their trace
+ * context along to the thread that completes them.
  */
 @Component
-public class RequestLoggingInterceptor implements HandlerInterceptor {
+public class RequestLoggingInterceptor implements AsyncHandlerInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
     private static final String REQUEST_START_TIME = "requestStartTime";
+    // Keeps the trace ID available to filters that log after the MDC has been cleared
+    static final String TRACE_ID_ATTRIBUTE = "traceId";
+    private static final String REQUEST_LOGGED = "requestLogged";
+    private static final String TRACE_CONTEXT_ATTRIBUTE = "traceContext";
+    private static final String UNMATCHED_ENDPOINT = "unmatched";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
     private static final String[] INTERESTING_HEADERS = {
             "User-Agent", "Referer", "X-Forwarded-For", "X-Real-IP", 
             "Origin", "Accept", "Accept-Language", "Content-Type"
-    };    @Override
+    };
+
+    private final RequestLoggingProperties properties;
+    // One limiter per endpoint, bounded by the number of routes
+    private final Map<String, TokenBucket> rateLimiters = new ConcurrentHashMap<>();
+
+    public RequestLoggingInterceptor(RequestLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
     public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws Exception {
-        // Store request start time for performance tracking
-        request.setAttribute(REQUEST_START_TIME, System.currentTimeMillis());
+        if (request.getDispatcherType() == DispatcherType.ASYNC
+                && request.getAttribute(TRACE_CONTEXT_ATTRIBUTE) instanceof TraceContext.Snapshot snapshot) {
+            // Completing an async request, maybe on another thread: resume its trace; it was logged on arrival.
+            // The restored context is cleared in afterCompletion
+            snapshot.restore();
+            TraceContext.startSpan("Controller");
+            return true;
+        }
+
+        // Store request start time for performance tracking, from the monotonic clock
+        request.setAttribute(REQUEST_START_TIME, System.nanoTime());
         
         // Add the authenticated user ID if available from Spring Security
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String userId = (auth != null && auth.isAuthenticated()) ? auth.getName() : "anonymous";
         MDC.put("userId", userId);
         
-        // Check if client sent a trace ID in the header
+        // Check if the caller sent a W3C traceparent or a trace ID in the header
+        TraceParent traceParent = TraceParent.parse(request.getHeader(TraceContext.TRACEPARENT_HEADER));
         String clientTraceId = request.getHeader(TraceContext.TRACE_ID_HEADER);
         
-        // Initialize trace context for distributed tracing, using the client's trace ID if available
-        TraceContext.initTrace(userId, clientTraceId);
+        // Initialize trace context for distributed tracing, continuing the caller's trace if available
+        String traceId;
+        if (traceParent != null) {
+            // The caller's sampling decision holds for the whole trace
+            traceId = TraceContext.initTrace(userId, traceParent, request.getHeader(TraceContext.TRACESTATE_HEADER));
+        } else {
+            traceId = TraceContext.initTrace(userId, clientTraceId);
+            TraceContext.setSampled(isSampled(request));
+        }
+        request.setAttribute(TRACE_ID_ATTRIBUTE, traceId);
         TraceContext.startSpan("Controller");
           // Log whether we're using a client-provided trace ID
-        if (clientTraceId != null && !clientTraceId.trim().isEmpty()) {
+        if (traceParent != null) {
+            logger.debug("Continuing trace {} from parent span {}", traceId, traceParent.parentId());
+        } else if (clientTraceId != null && !clientTraceId.trim().isEmpty()) {
             logger.debug("Using client-provided trace ID: {}", clientTraceId);
         }
         
         // Extract PingFederate session reference or token identifier (if available)
         // This maintains correlation without using HttpSession
-        String pingFedSessionRef = extractPingFedSessionReference(request);
-        MDC.put("sessionRef", pingFedSessionRef);
+        MDC.put("sessionRef", extractPingFedSessionReference(request));
         
         // Capture client information
         String userAgent = request.getHeader("User-Agent");
-        String clientIp = getClientIpAddress(request);
-        String forwardedFor = request.getHeader("X-Forwarded-For");
-        
         MDC.put("userAgent", userAgent != null ? userAgent : "unknown");
-        MDC.put("clientIp", clientIp);
+        MDC.put("clientIp", getClientIpAddress(request));
+        
+        // Sampled requests are logged as they arrive, the others only if they fail or turn out slow
+        if (logger.isInfoEnabled() && TraceContext.isSampled() && tryAcquire(request)) {
+            request.setAttribute(REQUEST_LOGGED, Boolean.TRUE);
+            logRequestReceived(request, userId);
+        }
         
-        // Log the beginning of the request with detailed information
+        return true;
+    }
+    
+    /**
+     * Logs the beginning of the request with detailed information
+     */
+    private void logRequestReceived(HttpServletRequest request, String userId) {
+        String userAgent = request.getHeader("User-Agent");
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        // Only built for requests that are actually logged
         Map<String, String> headerMap = extractInterestingHeaders(request);
         
         logger.info("Received request: {} {} | Client: {} | IP: {} | Forwarded: {} | User: {} | SessionRef: {} | Headers: {} | TraceId: {}", 
                 request.getMethod(), 
                 request.getRequestURI(),
                 userAgent != null ? userAgent : "unknown",
-                clientIp,
+                MDC.get("clientIp"),
                 forwardedFor != null ? forwardedFor : "none",
                 userId,
-                pingFedSessionRef,
+                MDC.get("sessionRef"),
                 headerMap,
                 TraceContext.getTraceId());
-        
-        return true;
     }
 
     @Override
@@ -94,11 +159,21 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
     @Override
     public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, @Nullable Exception ex) throws Exception {
         Long startTime = (Long) request.getAttribute(REQUEST_START_TIME);
-        long processingTime = startTime != null ? System.currentTimeMillis() - startTime : -1;
+        long elapsedNanos = startTime != null ? System.nanoTime() - startTime : -1;
+        long processingTime = elapsedNanos >= 0 ? TimeUnit.NANOSECONDS.toMillis(elapsedNanos) : -1;
         
         MDC.put("processingTimeMs", String.valueOf(processingTime));
         MDC.put("statusCode", String.valueOf(response.getStatus()));
         
+        // Failed requests are always logged, slow ones unless their endpoint is over its rate limit
+        boolean logged = Boolean.TRUE.equals(request.getAttribute(REQUEST_LOGGED));
+        boolean failed = ex != null || response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        boolean slow = processingTime >= properties.getSlowRequestThreshold().toMillis();
+        if (!logged && (failed || (slow && logger.isInfoEnabled() && tryAcquire(request)))) {
+            logRequestReceived(request, MDC.get("userId"));
+            logged = true;
+        }
+        
         if (ex != null) {
             logger.error("Error processing request: {} {} | Status: {} | Time: {}ms | Error: {} | TraceId: {}", 
                     request.getMethod(), 
@@ -108,7 +183,7 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
                     ex.getMessage(),
                     TraceContext.getTraceId(),
                     ex);
-        } else {
+        } else if (logged) {
             logger.info("Request completed: {} {} | Status: {} | Time: {}ms | TraceId: {}", 
                     request.getMethod(), 
                     request.getRequestURI(),
@@ -117,14 +192,79 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
                     TraceContext.getTraceId());
         }
         
-        // End the controller span
+        // End the controller span and record how long the endpoint took, including any async part
         TraceContext.endSpan();
+        if (elapsedNanos >= 0) {
+            LatencyStatistics.recordEndpoint(endpoint(request), elapsedNanos);
+        }
         
         // Clear all trace context and MDC to prevent leaking into subsequent requests
         TraceContext.clearTrace();
         MDC.clear();
     }
     
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        // The request completes on another thread; take the trace along and leave this one clean
+        request.setAttribute(TRACE_CONTEXT_ATTRIBUTE, TraceContext.capture());
+        TraceContext.clearTrace();
+        MDC.clear();
+    }
+    
+    private boolean isSampled(HttpServletRequest request) {
+        double percentage = samplePercentage(request.getRequestURI());
+        return percentage >= 100 || (percentage > 0 && ThreadLocalRandom.current().nextDouble(100) < percentage);
+    }
+    
+    /**
+     * Looks up the sample percentage of the most specific pattern matching the path
+     */
+    private double samplePercentage(String path) {
+        Map<String, Double> percentages = properties.getSamplePercentages();
+        String best = null;
+        Comparator<String> specificity = null;
+        for (String pattern : percentages.keySet()) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                if (best == null) {
+                    best = pattern;
+                } else {
+                    if (specificity == null) {
+                        specificity = PATH_MATCHER.getPatternComparator(path);
+                    }
+                    if (specificity.compare(pattern, best) < 0) {
+                        best = pattern;
+                    }
+                }
+            }
+        }
+        return best != null ? percentages.get(best) : properties.getDefaultSamplePercentage();
+    }
+    
+    /**
+     * Takes a token from the endpoint's rate limiter
+     */
+    private boolean tryAcquire(HttpServletRequest request) {
+        if (properties.getRateLimitPerSecond() <= 0) {
+            return true;
+        }
+        String endpoint = endpoint(request);
+        long now = System.nanoTime();
+        TokenBucket bucket = rateLimiters.get(endpoint);
+        if (bucket == null) {
+            bucket = rateLimiters.computeIfAbsent(endpoint, key ->
+                    new TokenBucket(properties.getRateLimitPerSecond(), properties.getRateLimitBurst(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+    
+    /**
+     * Keys a request by route rather than URI, so path variables do not create an entry per id
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : UNMATCHED_ENDPOINT;
+    }
+    
     /**
      * Extracts the client IP address considering proxy headers
      */
@@ -0,0 +1,41 @@
+package com.edge.template.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as a single timestamp (the generic cell rate
+ * algorithm): the time at which the bucket would be empty again if no tokens were
+ * taken from now on. Taking a token pushes that time forward by one token's worth;
+ * a token is refused when it would be more than a full bucket ahead of now. A refused
+ * call does not write, so a saturated bucket costs a single read.
+ */
+final class TokenBucket {
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final AtomicLong emptyAt;
+
+    /**
+     * @param tokensPerSecond the refill rate
+     * @param capacity the number of tokens that can be taken at once after a quiet period
+     * @param nowNanos the current {@link System#nanoTime()}; the bucket starts full
+     */
+    TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.capacityNanos = nanosPerToken * Math.max(1, capacity);
+        this.emptyAt = new AtomicLong(nowNanos);
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long current = emptyAt.get();
+            // Compare as differences, nanoTime may overflow
+            long next = (current - nowNanos < 0 ? nowNanos : current) + nanosPerToken;
+            if (next - nowNanos > capacityNanos) {
+                return false;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.edge.template.util;
 
 import org.slf4j.MDC;
-import java.util.UUID;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * Utility class for managing distributed tracing context across application layers.
@@ -12,9 +16,23 @@ public class TraceContext {    public static final String USER_ID = "userId";
     public static final String SPAN_ID = "spanId";
     public static final String PARENT_SPAN_ID = "parentSpanId";
     public static final String COMPONENT = "component";
+    public static final String SAMPLED = "sampled";
+    public static final String TRACE_STATE = "traceState";
     
     // The HTTP header name that Angular should use to pass the trace ID
     public static final String TRACE_ID_HEADER = "X-Trace-ID";
+    // W3C Trace Context headers exchanged with other services
+    public static final String TRACEPARENT_HEADER = TraceParent.HEADER;
+    public static final String TRACESTATE_HEADER = "tracestate";
+    // Longest tracestate we pass on; the W3C limit for what must be propagated
+    private static final int MAX_TRACE_STATE_LENGTH = 512;
+
+    // Open spans of the current thread, innermost first, with their start times. Only set while
+    // spans are open, so threads that never open one (e.g. one virtual thread per task) allocate nothing
+    private static final ThreadLocal<Deque<Span>> SPANS = new ThreadLocal<>();
+
+    private record Span(String spanId, String parentSpanId, String component, long startNanos) {
+    }
 
     /**
      * Initialize a new trace context with a unique trace ID.
@@ -38,9 +56,9 @@ public class TraceContext {    public static final String USER_ID = "userId";
     public static String initTrace(String userId, String existingTraceId) {
         String traceId = (existingTraceId != null && !existingTraceId.trim().isEmpty()) 
             ? existingTraceId 
-            : UUID.randomUUID().toString();
+            : TraceIdGenerator.newTraceId();
             
-        String spanId = UUID.randomUUID().toString().substring(0, 8);
+        String spanId = TraceIdGenerator.newSpanId();
         
         MDC.put(TRACE_ID, traceId);
         MDC.put(SPAN_ID, spanId);
@@ -48,6 +66,62 @@ public class TraceContext {    public static final String USER_ID = "userId";
         
         return traceId;
     }
+
+    /**
+     * Continue a trace started by another service, as a child of the caller's span.
+     * The caller's span stays current until a span is started here, so the first local
+     * span (usually the controller's) logs the caller's span as its parent.
+     * The caller's sampling decision and tracestate are kept for outgoing calls.
+     *
+     * @param userId the user identifier
+     * @param parent the parsed {@code traceparent} header of the incoming request
+     * @param traceState the {@code tracestate} header, may be null
+     * @return the caller's trace ID
+     */
+    public static String initTrace(String userId, TraceParent parent, String traceState) {
+        String traceId = initTrace(userId, parent.traceId());
+        MDC.put(SPAN_ID, parent.parentId());
+        MDC.remove(PARENT_SPAN_ID);
+        setSampled(parent.sampled());
+        if (traceState != null && !traceState.isBlank() && traceState.length() <= MAX_TRACE_STATE_LENGTH) {
+            MDC.put(TRACE_STATE, traceState);
+        } else {
+            MDC.remove(TRACE_STATE);
+        }
+        return traceId;
+    }
+
+    /**
+     * Record whether the current trace is sampled, which is passed on to other services.
+     */
+    public static void setSampled(boolean sampled) {
+        MDC.put(SAMPLED, sampled ? "true" : "false");
+    }
+
+    /**
+     * @return whether the current trace is sampled; traces without a decision are
+     *         treated as sampled
+     */
+    public static boolean isSampled() {
+        return !"false".equals(MDC.get(SAMPLED));
+    }
+
+    /**
+     * Build the {@code traceparent} header for a call made from the current span.
+     *
+     * @return the header value, or null if there is no trace or its trace ID is not
+     *         in W3C format (e.g. a custom X-Trace-ID from a client)
+     */
+    public static String getTraceParent() {
+        return TraceParent.format(MDC.get(TRACE_ID), MDC.get(SPAN_ID), isSampled());
+    }
+
+    /**
+     * @return the tracestate received with the trace, or null
+     */
+    public static String getTraceState() {
+        return MDC.get(TRACE_STATE);
+    }
     
     /**
      * Start a new span within the current trace.
@@ -58,7 +132,7 @@ public class TraceContext {    public static final String USER_ID = "userId";
      */
     public static String startSpan(String componentName) {
         String parentSpanId = MDC.get(SPAN_ID);
-        String newSpanId = UUID.randomUUID().toString().substring(0, 8);
+        String newSpanId = TraceIdGenerator.newSpanId();
         
         if (parentSpanId != null) {
             MDC.put(PARENT_SPAN_ID, parentSpanId);
@@ -66,23 +140,63 @@ public class TraceContext {    public static final String USER_ID = "userId";
         
         MDC.put(SPAN_ID, newSpanId);
         MDC.put(COMPONENT, componentName);
-        
+
+        Deque<Span> spans = SPANS.get();
+        if (spans == null) {
+            spans = new ArrayDeque<>();
+            SPANS.set(spans);
+        }
+        spans.push(new Span(newSpanId, parentSpanId, componentName, System.nanoTime()));
         return newSpanId;
     }
     
     /**
-     * End the current span and restore the parent span context.
+     * End the current span, record its duration under its component and restore the
+     * parent span context.
      * Call this method when exiting a component.
+     *
+     * @return the duration of the span in nanoseconds, or -1 if no span was open
      */
-    public static void endSpan() {
-        String parentSpanId = MDC.get(PARENT_SPAN_ID);
-        
-        if (parentSpanId != null) {
-            MDC.put(SPAN_ID, parentSpanId);
+    public static long endSpan() {
+        Deque<Span> spans = SPANS.get();
+        Span span = spans != null ? spans.poll() : null;
+        if (span == null) {
+            // Span started without startSpan, e.g. only initTrace: restore what the MDC knows
+            String parentSpanId = MDC.get(PARENT_SPAN_ID);
+            if (parentSpanId != null) {
+                MDC.put(SPAN_ID, parentSpanId);
+                MDC.remove(PARENT_SPAN_ID);
+            }
+            MDC.remove(COMPONENT);
+            return -1;
+        }
+
+        long nanos = System.nanoTime() - span.startNanos();
+        LatencyStatistics.recordComponent(span.component(), nanos);
+
+        if (span.parentSpanId() != null) {
+            MDC.put(SPAN_ID, span.parentSpanId());
+        } else {
+            MDC.remove(SPAN_ID);
+        }
+        Span enclosing = spans.peek();
+        if (enclosing != null) {
+            MDC.put(COMPONENT, enclosing.component());
+            putOrRemove(PARENT_SPAN_ID, enclosing.parentSpanId());
+        } else {
+            MDC.remove(COMPONENT);
             MDC.remove(PARENT_SPAN_ID);
+            SPANS.remove();
+        }
+        return nanos;
+    }
+
+    private static void putOrRemove(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        } else {
+            MDC.remove(key);
         }
-        
-        MDC.remove(COMPONENT);
     }
     
     /**
@@ -112,5 +226,96 @@ public class TraceContext {    public static final String USER_ID = "userId";
         MDC.remove(SPAN_ID);
         MDC.remove(PARENT_SPAN_ID);
         MDC.remove(COMPONENT);
+        MDC.remove(SAMPLED);
+        MDC.remove(TRACE_STATE);
+        SPANS.remove();
+    }
+
+    /**
+     * Capture the MDC of the current thread, including the trace and span IDs, so work
+     * handed to another thread can log under the same trace. Executors can do this with
+     * {@link TracingExecutor}; for parallel streams or {@code CompletableFuture} stages on
+     * the common pool, restore the snapshot inside the lambda.
+     *
+     * @return the captured context
+     */
+    public static Snapshot capture() {
+        return new Snapshot(MDC.getCopyOfContextMap());
+    }
+
+    /**
+     * Wrap a task so it runs with the context of the thread calling this method.
+     */
+    public static Runnable wrap(Runnable task) {
+        Snapshot snapshot = capture();
+        return () -> {
+            try (Scope ignored = snapshot.restore()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wrap a task so it runs with the context of the thread calling this method.
+     */
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        Snapshot snapshot = capture();
+        return () -> {
+            try (Scope ignored = snapshot.restore()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Context captured from one thread, to be restored on another.
+     */
+    public static final class Snapshot {
+        private final Map<String, String> mdc;
+
+        private Snapshot(Map<String, String> mdc) {
+            this.mdc = mdc;
+        }
+
+        /**
+         * Replace the context of the current thread with the captured one until the
+         * returned scope is closed. Spans the task opens are parented to the span that
+         * was current at capture, but are timed and closed on this thread only.
+         *
+         * @return scope that puts back whatever context the thread had before
+         */
+        public Scope restore() {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            Deque<Span> previousSpans = SPANS.get();
+            SPANS.remove();
+            setMdc(mdc);
+            return () -> {
+                // Pooled threads go back clean, and a caller running the task itself gets its own context back
+                setMdc(previousMdc);
+                if (previousSpans == null || previousSpans.isEmpty()) {
+                    SPANS.remove();
+                } else {
+                    SPANS.set(previousSpans);
+                }
+            };
+        }
+
+        private static void setMdc(Map<String, String> contextMap) {
+            if (contextMap == null || contextMap.isEmpty()) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(contextMap);
+            }
+        }
+    }
+
+    /**
+     * A restored context, active until closed. Must be closed on the thread that
+     * restored it.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
     }
-}
\ No newline at end of file
+}
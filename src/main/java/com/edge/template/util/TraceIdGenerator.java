@@ -0,0 +1,63 @@
+package com.edge.template.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates W3C Trace Context compatible IDs: 128-bit trace IDs as 32 and 64-bit span
+ * IDs as 16 lowercase hex characters, never all zeros.
+ * <p>
+ * IDs only need to be unique, not unpredictable, so they come from
+ * {@link ThreadLocalRandom} instead of the shared {@code SecureRandom} behind
+ * {@code UUID.randomUUID()}: no lock, no entropy pool, and no contention between
+ * request threads. The hex digits are written straight into a char array of the
+ * final length.
+ */
+public final class TraceIdGenerator {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private TraceIdGenerator() {
+    }
+
+    /**
+     * @return a new 32-character trace ID
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0);
+
+        char[] chars = new char[32];
+        writeHex(high, chars, 0);
+        writeHex(low, chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * @return a new 16-character span ID
+     */
+    public static String newSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == 0);
+
+        char[] chars = new char[16];
+        writeHex(id, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Writes the 16 hex digits of a value, most significant first
+     */
+    static void writeHex(long value, char[] out, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            out[i] = HEX_DIGITS[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.edge.template.util;
+
+/**
+ * A W3C Trace Context {@code traceparent} header: the trace ID, the ID of the caller's
+ * span and whether the caller sampled the trace.
+ * <p>
+ * Parsing checks the fixed layout character by character, without a regex or split,
+ * and allocates only the two ID strings of a valid header.
+ *
+ * @param traceId 32 lowercase hex characters, not all zero
+ * @param parentId 16 lowercase hex characters, not all zero
+ * @param sampled whether the caller recorded the trace
+ */
+public record TraceParent(String traceId, String parentId, boolean sampled) {
+    public static final String HEADER = "traceparent";
+
+    private static final int VERSION_LENGTH = 2;
+    private static final int TRACE_ID_START = 3;
+    private static final int PARENT_ID_START = TRACE_ID_START + 32 + 1;
+    private static final int FLAGS_START = PARENT_ID_START + 16 + 1;
+    private static final int LENGTH = FLAGS_START + 2;
+    private static final int SAMPLED_FLAG = 0x01;
+
+    /**
+     * @return the parsed header, or null if it is missing or malformed
+     */
+    public static TraceParent parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        int length = header.length();
+        if (length < LENGTH) {
+            return null;
+        }
+        int version = hexByte(header, 0);
+        if (version < 0 || version == 0xff) {
+            return null;
+        }
+        // Later versions may append fields after another dash
+        if (version == 0 ? length != LENGTH : length > LENGTH && header.charAt(LENGTH) != '-') {
+            return null;
+        }
+        if (header.charAt(VERSION_LENGTH) != '-' || header.charAt(PARENT_ID_START - 1) != '-'
+                || header.charAt(FLAGS_START - 1) != '-') {
+            return null;
+        }
+        if (!isHexId(header, TRACE_ID_START, PARENT_ID_START - 1) || !isHexId(header, PARENT_ID_START, FLAGS_START - 1)) {
+            return null;
+        }
+        int flags = hexByte(header, FLAGS_START);
+        if (flags < 0) {
+            return null;
+        }
+        return new TraceParent(header.substring(TRACE_ID_START, PARENT_ID_START - 1),
+                header.substring(PARENT_ID_START, FLAGS_START - 1), (flags & SAMPLED_FLAG) != 0);
+    }
+
+    /**
+     * @return the version 00 header for a span, or null if either ID is not in W3C format
+     */
+    public static String format(String traceId, String spanId, boolean sampled) {
+        if (traceId == null || spanId == null || traceId.length() != 32 || spanId.length() != 16
+                || !isHexId(traceId, 0, 32) || !isHexId(spanId, 0, 16)) {
+            return null;
+        }
+        return "00-" + traceId + '-' + spanId + (sampled ? "-01" : "-00");
+    }
+
+    /**
+     * Whether the characters from {@code start} to {@code end} are lowercase hex and not all zero
+     */
+    private static boolean isHexId(String value, int start, int end) {
+        boolean nonZero = false;
+        for (int i = start; i < end; i++) {
+            int digit = hexDigit(value.charAt(i));
+            if (digit < 0) {
+                return false;
+            }
+            nonZero |= digit != 0;
+        }
+        return nonZero;
+    }
+
+    private static int hexByte(String value, int index) {
+        int high = hexDigit(value.charAt(index));
+        int low = hexDigit(value.charAt(index + 1));
+        return high < 0 || low < 0 ? -1 : high << 4 | low;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,36 @@
+package com.edge.template.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Stamps outgoing HTTP calls with the current trace: W3C {@code traceparent} with the
+ * current span as parent and the trace's sampled flag, the received {@code tracestate},
+ * and the X-Trace-ID header for services that only know that one.
+ */
+public class TracePropagationInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String traceId = TraceContext.getTraceId();
+        if (traceId != null) {
+            HttpHeaders headers = request.getHeaders();
+            headers.set(TraceContext.TRACE_ID_HEADER, traceId);
+            String traceParent = TraceContext.getTraceParent();
+            if (traceParent != null) {
+                headers.set(TraceContext.TRACEPARENT_HEADER, traceParent);
+                String traceState = TraceContext.getTraceState();
+                if (traceState != null) {
+                    headers.set(TraceContext.TRACESTATE_HEADER, traceState);
+                }
+            }
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,31 @@
+package com.edge.template.util;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor that runs each task with the {@link TraceContext} of the thread that
+ * submitted it, and clears it again afterwards so pooled threads do not carry a trace
+ * into their next task.
+ * <p>
+ * Works for platform and virtual threads alike, since nothing is left behind in the
+ * worker's thread locals.
+ */
+public class TracingExecutor implements Executor {
+    private final Executor delegate;
+
+    protected TracingExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return an executor that propagates the trace context to {@code delegate}
+     */
+    public static Executor wrap(Executor delegate) {
+        return delegate instanceof TracingExecutor ? delegate : new TracingExecutor(delegate);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(TraceContext.wrap(command));
+    }
+}
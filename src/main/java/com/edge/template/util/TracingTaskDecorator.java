@@ -0,0 +1,15 @@
+package com.edge.template.util;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the {@link TraceContext} into Spring's task executors, so {@code @Async}
+ * methods log under the trace of the request that called them.
+ */
+public class TracingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TraceContext.wrap(runnable);
+    }
+}
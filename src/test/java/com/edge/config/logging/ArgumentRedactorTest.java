@@ -0,0 +1,95 @@
+package com.edge.config.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ArgumentRedactorTest {
+  record Customer(String name, String email, Address address) {
+  }
+
+  record Address(String city, String creditCard) {
+  }
+
+  record Product(String name, int stock) {
+  }
+
+  private static ArgumentRedactor redactor() {
+    RedactionConfig config = new RedactionConfig("***");
+    config.addField("password", RedactionType.FULL);
+    config.addField("email", RedactionType.EMAIL);
+    config.addField("creditCard", RedactionType.CREDIT_CARD);
+    return new ArgumentRedactor(config, text -> text.replace("password=hunter2", "password=***"));
+  }
+
+  private static ILoggingEvent event(String template, Object... arguments) {
+    ILoggingEvent event = mock(ILoggingEvent.class);
+    when(event.getMessage()).thenReturn(template);
+    when(event.getArgumentArray()).thenReturn(arguments);
+    when(event.getMDCPropertyMap()).thenReturn(Map.of());
+    return event;
+  }
+
+  @Test
+  public void testReturnsTheSameEventWhenNothingIsSensitive() {
+    ILoggingEvent event = event("{} {} {}", Map.of("user", "jane"), new Product("Pen", 3), "plain");
+
+    assertSame(event, redactor().redact(event));
+  }
+
+  @Test
+  public void testMasksNestedMapsAndCollections() {
+    ILoggingEvent event = event("Payload: {}",
+        Map.of("users", List.of(Map.of("password", "secret", "note", "password=hunter2"))));
+
+    String message = redactor().redact(event).getFormattedMessage();
+
+    assertTrue(message.contains("note=password=***"));
+    assertFalse(message.contains("secret"));
+    assertFalse(message.contains("hunter2"));
+  }
+
+  @Test
+  public void testRendersDtosWithSensitivePropertiesAsMaskedJson() {
+    Customer customer = new Customer("Jane", "jane@example.com", new Address("Springfield", "4111-1111-1111-1234"));
+
+    String message = redactor().redact(event("Customer: {}", customer)).getFormattedMessage();
+
+    assertTrue(message.startsWith("Customer: {"));
+    assertTrue(message.contains("\"name\":\"Jane\""));
+    assertTrue(message.contains("\"email\":\"j***@example.com\""));
+    assertTrue(message.contains("\"city\":\"Springfield\""));
+    assertTrue(message.contains("\"creditCard\":\"**** **** **** 1234\""));
+  }
+
+  @Test
+  public void testMasksMdcValuesByKey() {
+    ILoggingEvent event = event("Request completed");
+    when(event.getMDCPropertyMap()).thenReturn(Map.of("email", "jane@example.com", "traceId", "t-1"));
+
+    ILoggingEvent redacted = redactor().redact(event);
+
+    assertEquals("j***@example.com", redacted.getMDCPropertyMap().get("email"));
+    assertEquals("t-1", redacted.getMDCPropertyMap().get("traceId"));
+    assertTrue(redactor().hasSensitiveMdc(event));
+  }
+
+  @Test
+  public void testTopLevelTextIsLeftToTheTextFallback() {
+    RedactionConfig config = new RedactionConfig("***");
+    config.addField("password");
+    FieldNamePrefilter prefilter = new FieldNamePrefilter(config);
+    ILoggingEvent event = event("Login {} {}", "password=hunter2", Map.of("password", "x"));
+
+    ILoggingEvent redacted = redactor().redact(event);
+
+    assertEquals("password=hunter2", redacted.getArgumentArray()[0]);
+    assertTrue(redactor().hasFreeFormFieldNames(event, redacted, prefilter));
+  }
+}
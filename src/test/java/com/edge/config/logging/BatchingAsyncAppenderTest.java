@@ -0,0 +1,184 @@
+package com.edge.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchingAsyncAppenderTest {
+  /**
+   * Records events, and holds the writer thread on the first one until released.
+   */
+  private static class GatedAppender extends AppenderBase<ILoggingEvent> {
+    final List<String> messages = new CopyOnWriteArrayList<>();
+    final List<Object[]> arguments = new CopyOnWriteArrayList<>();
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    protected void append(ILoggingEvent event) {
+      entered.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      messages.add(event.getFormattedMessage());
+      arguments.add(event.getArgumentArray() == null ? new Object[0] : event.getArgumentArray());
+    }
+  }
+
+  private final LoggerContext context = newContext();
+
+  private static LoggerContext newContext() {
+    LoggerContext context = new LoggerContext();
+    context.setMDCAdapter(new LogbackMDCAdapter());
+    return context;
+  }
+
+  private BatchingAsyncAppender startedAppender(GatedAppender target, BatchingAsyncAppender.OverflowPolicy policy) {
+    target.setContext(context);
+    target.start();
+    BatchingAsyncAppender appender = new BatchingAsyncAppender();
+    appender.setContext(context);
+    appender.setName("test");
+    appender.setQueueSize(4);
+    appender.setDiscardingThreshold(0);
+    appender.setOverflowPolicy(policy);
+    appender.addAppender(target);
+    appender.start();
+    return appender;
+  }
+
+  private LoggingEvent event(Level level, String message) {
+    return new LoggingEvent("test", context.getLogger("test"), level, message, null, null);
+  }
+
+  @Test
+  public void testDropsInfoButNeverWarnWhenFull() throws Exception {
+    GatedAppender target = new GatedAppender();
+    BatchingAsyncAppender appender = startedAppender(target, BatchingAsyncAppender.OverflowPolicy.DROP);
+
+    appender.doAppend(event(Level.INFO, "first"));
+    assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 7; i++) {
+      appender.doAppend(event(Level.INFO, "info-" + i));
+    }
+    assertEquals(4, appender.getQueueDepth());
+    assertEquals(3, appender.getDroppedEventCount());
+
+    Thread warn = new Thread(() -> appender.doAppend(event(Level.WARN, "warn")));
+    warn.start();
+    warn.join(200);
+    assertTrue(warn.isAlive(), "WARN should wait for room instead of being dropped");
+
+    target.release.countDown();
+    warn.join(5000);
+    appender.stop();
+
+    assertEquals(List.of("first", "info-0", "info-1", "info-2", "info-3", "warn"), target.messages);
+    assertEquals(3, appender.getDroppedEventCount());
+  }
+
+  @Test
+  public void testBlockPolicyKeepsEveryEvent() throws Exception {
+    GatedAppender target = new GatedAppender();
+    BatchingAsyncAppender appender = startedAppender(target, BatchingAsyncAppender.OverflowPolicy.BLOCK);
+
+    Thread producer = new Thread(() -> {
+      for (int i = 0; i < 10; i++) {
+        appender.doAppend(event(Level.INFO, "info-" + i));
+      }
+    });
+    producer.start();
+    assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+    target.release.countDown();
+    producer.join(5000);
+    appender.stop();
+
+    assertEquals(10, target.messages.size());
+    assertEquals(0, appender.getDroppedEventCount());
+  }
+
+  @Test
+  public void testWriterSeesTheMessageAsFormattedByTheCaller() throws Exception {
+    GatedAppender target = new GatedAppender();
+    BatchingAsyncAppender appender = startedAppender(target, BatchingAsyncAppender.OverflowPolicy.BLOCK);
+    List<String> items = new ArrayList<>(List.of("a", "b"));
+
+    appender.doAppend(new LoggingEvent("test", context.getLogger("test"), Level.INFO, "items {}", null,
+        new Object[] {items}));
+    // The caller keeps using its objects after the log call
+    items.add("c");
+    target.release.countDown();
+    appender.stop();
+
+    assertEquals(List.of("items [a, b]"), target.messages);
+    assertEquals(0, target.arguments.get(0).length);
+  }
+
+  public record Credentials(String user, String password) {
+  }
+
+  @Test
+  public void testRedactsMapAndDtoArgumentsStructurally() {
+    RedactingPatternLayout layout = new RedactingPatternLayout();
+    layout.setContext(context);
+    layout.setFieldsToRedact("password");
+    layout.setPattern("%msg");
+    layout.start();
+    LayoutWrappingEncoder<ILoggingEvent> encoder = new LayoutWrappingEncoder<>();
+    encoder.setContext(context);
+    encoder.setLayout(layout);
+    encoder.start();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    OutputStreamAppender<ILoggingEvent> target = new OutputStreamAppender<>();
+    target.setContext(context);
+    target.setEncoder(encoder);
+    target.setOutputStream(out);
+    target.start();
+    BatchingAsyncAppender appender = new BatchingAsyncAppender();
+    appender.setContext(context);
+    appender.setName("test");
+    appender.addAppender(target);
+    appender.start();
+    Map<String, Object> login = new LinkedHashMap<>();
+    login.put("user", "bob");
+    login.put("password", "secret");
+
+    appender.doAppend(new LoggingEvent("test", context.getLogger("test"), Level.INFO, "login {} {}", null,
+        new Object[] {login, new Credentials("bob", "hunter2")}));
+    appender.stop();
+
+    assertEquals("login {user=bob, password=********} {\"user\":\"bob\",\"password\":\"********\"}",
+        out.toString(StandardCharsets.UTF_8));
+    // The caller's map is left as it was
+    assertEquals("secret", login.get("password"));
+  }
+
+  @Test
+  public void testDoesNotStartWithoutAppenders() {
+    BatchingAsyncAppender appender = new BatchingAsyncAppender();
+    appender.setContext(context);
+    appender.start();
+
+    assertFalse(appender.isStarted());
+  }
+}
@@ -0,0 +1,41 @@
+package com.edge.config.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldNamePrefilterTest {
+  private static FieldNamePrefilter prefilter(String... fields) {
+    RedactionConfig config = new RedactionConfig("***");
+    for (String field : fields) {
+      config.addField(field);
+    }
+    return new FieldNamePrefilter(config);
+  }
+
+  @Test
+  public void testRejectsMessagesWithoutFieldNames() {
+    FieldNamePrefilter prefilter = prefilter("password", "creditCard", "ssn");
+
+    assertFalse(prefilter.mayContainField("Request completed in 12 ms"));
+    assertFalse(prefilter.mayContainField("HHH000412: Hibernate ORM core version"));
+    assertFalse(prefilter.mayContainField("pass word credit card ss"));
+  }
+
+  @Test
+  public void testFindsFieldNamesIgnoringCase() {
+    FieldNamePrefilter prefilter = prefilter("password", "creditCard", "ssn");
+
+    assertTrue(prefilter.mayContainField("PASSWORD=x"));
+    assertTrue(prefilter.mayContainField("{\"CreditCard\":\"4111\"}"));
+    assertTrue(prefilter.mayContainField("trailing ssn"));
+    assertTrue(prefilter.mayContainField("passwords are substrings too"));
+  }
+
+  @Test
+  public void testNonAsciiFieldNamesAlwaysMatch() {
+    FieldNamePrefilter prefilter = prefilter("\u00f1umero");
+
+    assertTrue(prefilter.mayContainField("nothing to see"));
+  }
+}
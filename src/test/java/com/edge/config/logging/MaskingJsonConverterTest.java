@@ -0,0 +1,97 @@
+package com.edge.config.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaskingJsonConverterTest {
+  private static MaskingJsonConverter converter() {
+    RedactionConfig config = new RedactionConfig("***");
+    config.addField("password", RedactionType.FULL);
+    config.addField("email", RedactionType.EMAIL);
+    config.addField("card", RedactionType.CREDIT_CARD);
+    return new MaskingJsonConverter(config);
+  }
+
+  @Test
+  public void testMasksTopLevelFields() {
+    String result = converter().maskSensitiveData(
+        "login {\"user\":\"jane\",\"password\":\"hunter2\",\"email\":\"jane@example.com\"} ok");
+
+    assertEquals("login {\"user\":\"jane\",\"password\":\"***\",\"email\":\"j***@example.com\"} ok", result);
+  }
+
+  @Test
+  public void testMasksArbitrarilyNestedFields() {
+    String json = "{\"a\":{\"b\":{\"c\":{\"d\":[{\"password\":\"deep\"},{\"e\":{\"card\":\"4111 1111 1111 1234\"}}]}}}}";
+
+    String result = converter().maskSensitiveData("payload=" + json);
+
+    assertEquals("payload={\"a\":{\"b\":{\"c\":{\"d\":[{\"password\":\"***\"},"
+        + "{\"e\":{\"card\":\"**** **** **** 1234\"}}]}}}}", result);
+  }
+
+  @Test
+  public void testReplacesNonTextValuesAndSubtrees() {
+    String result = converter().maskSensitiveData(
+        "{\"password\":{\"old\":\"a\",\"new\":[\"b\"]},\"email\":42,\"count\":7,\"ratio\":1.5,\"flag\":null}");
+
+    assertEquals("{\"password\":\"***\",\"email\":\"***\",\"count\":7,\"ratio\":1.5,\"flag\":null}", result);
+  }
+
+  @Test
+  public void testMatchesFieldNamesCaseInsensitively() {
+    String result = converter().maskSensitiveData("{\"PassWord\":\"x\"}");
+
+    assertEquals("{\"PassWord\":\"***\"}", result);
+  }
+
+  @Test
+  public void testMasksEveryObjectInTheMessage() {
+    String result = converter().maskSensitiveData(
+        "old={\"password\":\"a\"} new={\"password\":\"b\"}");
+
+    assertEquals("old={\"password\":\"***\"} new={\"password\":\"***\"}", result);
+  }
+
+  @Test
+  public void testLeavesNonJsonBracesUntouched() {
+    String message = "Map {a=1, b={c=2}} and template ${user} and {broken \"password\":\"x\"";
+
+    assertEquals(message, converter().maskSensitiveData(message));
+  }
+
+  @Test
+  public void testFindsJsonNestedInsideNonJsonBraces() {
+    String result = converter().maskSensitiveData("ctx{id=7 body={\"password\":\"x\"}}");
+
+    assertEquals("ctx{id=7 body={\"password\":\"***\"}}", result);
+  }
+
+  @Test
+  public void testKeepsBracesInsideStringValues() {
+    String result = converter().maskSensitiveData(
+        "{\"note\":\"a } b { c\",\"password\":\"p}w\",\"quote\":\"say \\\"hi\\\"\"}");
+
+    assertEquals("{\"note\":\"a } b { c\",\"password\":\"***\",\"quote\":\"say \\\"hi\\\"\"}", result);
+  }
+
+  @Test
+  public void testLeavesTextWithoutBracesAsIs() {
+    String message = "nothing sensitive here";
+
+    assertSame(message, converter().maskSensitiveData(message));
+    assertNull(converter().maskSensitiveData(null));
+  }
+
+  @Test
+  public void testMasksTruncatedJsonUpToTheCut() {
+    String cut = "{\"user\":\"jane\",\"password\":\"hunter2\",\"items\":[{\"email\":\"jane@exa";
+
+    assertEquals(cut, converter().maskSensitiveData(cut));
+    assertEquals("{\"user\":\"jane\",\"password\":\"***\",\"items\":[{\"email\"",
+        converter().maskSensitiveData(cut, true));
+    assertEquals("{\"password\":\"***\"} and {\"note\"",
+        converter().maskSensitiveData("{\"password\":\"hunter2\"} and {\"note\":\"password=x", true));
+  }
+}
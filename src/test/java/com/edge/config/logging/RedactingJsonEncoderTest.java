@@ -0,0 +1,95 @@
+package com.edge.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RedactingJsonEncoderTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private LoggerContext context;
+  private RedactingJsonEncoder encoder;
+
+  @BeforeEach
+  public void setUp() {
+    context = new LoggerContext();
+    context.setMDCAdapter(new LogbackMDCAdapter());
+    encoder = new RedactingJsonEncoder();
+    encoder.setContext(context);
+    encoder.setFieldsToRedact("password,email,apiKey");
+    encoder.setRedactionString("********");
+    encoder.start();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    context.getMDCAdapter().clear();
+    encoder.stop();
+  }
+
+  private JsonNode encode(LoggingEvent event) throws Exception {
+    byte[] bytes = encoder.encode(event);
+    String line = new String(bytes, StandardCharsets.UTF_8);
+    assertTrue(line.endsWith("\n"));
+    assertEquals(1, line.split("\n").length);
+    return objectMapper.readTree(line);
+  }
+
+  @Test
+  public void testWritesEventWithTraceFieldsAtTopLevel() throws Exception {
+    context.getMDCAdapter().put("traceId", "t-1");
+    context.getMDCAdapter().put("spanId", "s-1");
+    context.getMDCAdapter().put("userId", "jane");
+    context.getMDCAdapter().put("sessionRef", "ref-9");
+    LoggingEvent event = new LoggingEvent("test", context.getLogger("com.edge.Test"), Level.INFO,
+        "Request completed in {}ms", null, new Object[] { 12 });
+
+    JsonNode json = encode(event);
+
+    assertEquals("INFO", json.get("level").asText());
+    assertEquals("com.edge.Test", json.get("logger").asText());
+    assertEquals("Request completed in 12ms", json.get("message").asText());
+    assertEquals("t-1", json.get("traceId").asText());
+    assertEquals("s-1", json.get("spanId").asText());
+    assertEquals("jane", json.get("userId").asText());
+    assertEquals("ref-9", json.get("mdc").get("sessionRef").asText());
+    assertTrue(json.hasNonNull("timestamp"));
+    assertFalse(json.has("stackTrace"));
+  }
+
+  @Test
+  public void testRedactsMessageMdcAndStackTrace() throws Exception {
+    context.getMDCAdapter().put("email", "jane@example.com");
+    LoggingEvent event = new LoggingEvent("test", context.getLogger("test"), Level.ERROR,
+        "Login failed for {}", new IllegalStateException("apiKey=abc123"),
+        new Object[] { Map.of("password", "hunter2") });
+
+    JsonNode json = encode(event);
+
+    assertEquals("Login failed for {password=********}", json.get("message").asText());
+    assertEquals("j********@example.com", json.get("mdc").get("email").asText());
+    assertTrue(json.get("stackTrace").asText().contains("apiKey=********"));
+    assertFalse(json.toString().contains("hunter2"));
+    assertFalse(json.toString().contains("abc123"));
+  }
+
+  @Test
+  public void testReusesBufferAcrossEvents() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      LoggingEvent event = new LoggingEvent("test", context.getLogger("test"), Level.INFO,
+          "event {}", null, new Object[] { i });
+
+      assertEquals("event " + i, encode(event).get("message").asText());
+    }
+  }
+}
@@ -1,7 +1,16 @@
 package com.edge.config.logging;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -118,4 +127,152 @@ public class RedactingPatternLayoutTest {
     assertEquals("jMASKED@example.com", config.redactValue("email", "john.doe@example.com"));
     assertEquals("aMASKED@test.org", config.redactValue("email", "admin@test.org"));
   }
+
+  @Test
+  public void testStartedLayoutRedactsFormattedMessage() {
+    LoggerContext context = newContext();
+    RedactingPatternLayout layout = new RedactingPatternLayout();
+    layout.setContext(context);
+    layout.setPattern("%msg");
+    layout.setFieldsToRedact("password,email");
+    layout.setRedactionString("********");
+    layout.setEnableJsonRedaction(false);
+    layout.start();
+
+    LoggingEvent event = new LoggingEvent("test", context.getLogger("test"), Level.INFO,
+        "Login password={} email: {}", null, new Object[] { "Secret123!", "john.doe@example.com" });
+
+    assertEquals("Login password=******** email: j********@example.com", layout.doLayout(event));
+  }
+
+  private static LoggerContext newContext() {
+    LoggerContext context = new LoggerContext();
+    context.setMDCAdapter(new LogbackMDCAdapter());
+    return context;
+  }
+
+  private static RedactingPatternLayout startedLayout(LoggerContext context) {
+    RedactingPatternLayout layout = new RedactingPatternLayout();
+    layout.setContext(context);
+    layout.setPattern("%msg");
+    layout.setFieldsToRedact("password");
+    layout.setRedactionString("********");
+    layout.start();
+    return layout;
+  }
+
+  @Test
+  public void testMessagesWithoutFieldNamesSkipRedaction() {
+    LoggerContext context = newContext();
+    RedactingPatternLayout layout = startedLayout(context);
+
+    LoggingEvent plain = new LoggingEvent("test", context.getLogger("test"), Level.INFO,
+        "Request completed {\"status\":200}", null, null);
+    LoggingEvent sensitive = new LoggingEvent("test", context.getLogger("test"), Level.INFO,
+        "Login password=Secret123!", null, null);
+
+    assertEquals("Request completed {\"status\":200}", layout.doLayout(plain));
+    assertEquals("Login password=********", layout.doLayout(sensitive));
+    assertEquals(1, layout.getSkippedEventCount());
+    assertEquals(1, layout.getRedactedEventCount());
+  }
+
+  @Test
+  public void testTrustedLoggersAndBypassMarkersSkipRedaction() {
+    LoggerContext context = newContext();
+    RedactingPatternLayout layout = startedLayout(context);
+    layout.setTrustedLoggers("com.edge.health, org.hibernate.SQL");
+    layout.setBypassMarkers("NO_REDACT");
+
+    LoggingEvent trusted = new LoggingEvent("test", context.getLogger("com.edge.health.Probe"), Level.INFO,
+        "password=visible", null, null);
+    LoggingEvent sibling = new LoggingEvent("test", context.getLogger("com.edge.healthcheck"), Level.INFO,
+        "password=hidden", null, null);
+    LoggingEvent marked = new LoggingEvent("test", context.getLogger("test"), Level.INFO,
+        "password=visible", null, null);
+    marked.addMarker(MarkerFactory.getMarker("NO_REDACT"));
+
+    assertEquals("password=visible", layout.doLayout(trusted));
+    assertEquals("password=********", layout.doLayout(sibling));
+    assertEquals("password=visible", layout.doLayout(marked));
+    assertEquals(2, layout.getSkippedEventCount());
+    assertEquals(1, layout.getRedactedEventCount());
+  }
+
+  @Test
+  public void testRedactsStructuredArgumentsBeforeFormatting() throws Exception {
+    LoggerContext context = newContext();
+    RedactingPatternLayout layout = new RedactingPatternLayout();
+    layout.setContext(context);
+    layout.setPattern("%msg");
+    layout.setFieldTypes("authorization=FULL,email=EMAIL,creditCard=CREDIT_CARD");
+    layout.setRedactionString("********");
+    layout.start();
+
+    Map<String, Object> headers = new LinkedHashMap<>();
+    headers.put("Accept", "application/json");
+    headers.put("Authorization", "Bearer abc.def");
+    Object body = new ObjectMapper().readTree("{\"order\":{\"creditCard\":\"4111 1111 1111 1234\"}}");
+    LoggingEvent event = new LoggingEvent("test", context.getLogger("test"), Level.INFO,
+        "Headers: {} | Body: {}", null, new Object[] { headers, body });
+
+    // The card mask contains spaces, so a second text pass would have mangled it
+    assertEquals("Headers: {Accept=application/json, Authorization=********}"
+        + " | Body: {\"order\":{\"creditCard\":\"**** **** **** 1234\"}}", layout.doLayout(event));
+    assertEquals("Bearer abc.def", headers.get("Authorization"));
+  }
+
+  @Test
+  public void testRedactsMdcValuesByKey() {
+    LoggerContext context = newContext();
+    RedactingPatternLayout layout = new RedactingPatternLayout();
+    layout.setContext(context);
+    layout.setPattern("%X{email} %msg");
+    layout.setFieldsToRedact("email");
+    layout.setRedactionString("********");
+    layout.start();
+
+    context.getMDCAdapter().put("email", "jane@example.com");
+    try {
+      LoggingEvent event = new LoggingEvent("test", context.getLogger("test"), Level.INFO,
+          "Request completed", null, null);
+
+      assertEquals("j********@example.com Request completed", layout.doLayout(event));
+    } finally {
+      context.getMDCAdapter().clear();
+    }
+  }
+
+  @Test
+  public void testPublishedRulesReplaceConfiguredRules() {
+    LoggerContext context = newContext();
+    RedactingPatternLayout layout = startedLayout(context);
+    RedactionRulesHolder holder = RedactionRulesHolder.forContext(context);
+    LoggingEvent event = new LoggingEvent("test", context.getLogger("test"), Level.INFO,
+        "Login password=Secret123! pin=1234", null, null);
+
+    RedactionRuleset incident = layout.getActiveRules().toBuilder().addField("pin").build();
+    holder.publish(incident);
+    assertEquals("Login password=******** pin=********", layout.doLayout(event));
+
+    holder.publish(incident.toBuilder().removeField("password").build());
+    assertEquals("Login password=Secret123! pin=********", layout.doLayout(event));
+
+    holder.clear();
+    assertEquals("Login password=******** pin=1234", layout.doLayout(event));
+  }
+
+  @Test
+  public void testRulesetsAreVersionedCopies() {
+    RedactionRuleset original = RedactionRuleset.builder().addField("password").build();
+    RedactionRuleset changed = original.toBuilder().addField("email").redactionString("###").build();
+
+    assertTrue(changed.getVersion() > original.getVersion());
+    assertEquals(Set.of("password"), original.getMaskers().keySet());
+    assertEquals("********", original.getRedactionString());
+    assertEquals(RedactionType.EMAIL, changed.getMaskers().get("email"));
+    assertEquals("###", changed.getRedactionString());
+    assertThrows(IllegalArgumentException.class,
+        () -> original.toBuilder().addField("iban", "com.example.MissingMasker"));
+  }
 }
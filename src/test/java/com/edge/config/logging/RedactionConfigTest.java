@@ -0,0 +1,115 @@
+package com.edge.config.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RedactionConfigTest {
+  private static final List<String> VALUES = List.of(
+      "4111-1111-1111-1234", "1234 5678 9012 5678", "12a3", "123", "x",
+      "john.doe@example.com", "@example.com", "a@b@c", "no-at-sign",
+      "+1-555-123-4567", "123-45-6789",
+      "123 Main St, Apt 4B, New York, NY 10001", "221B Baker Street, London", ",London",
+      "Main St,, London ,", "a,b,,", ",,,", "no commas", " , ");
+
+  @Test
+  public void testMaskersMatchStringBasedRedaction() {
+    RedactionConfig config = new RedactionConfig("MASK");
+    for (RedactionType type : RedactionType.values()) {
+      config.addField(type.name(), type);
+    }
+
+    for (RedactionType type : RedactionType.values()) {
+      for (String value : VALUES) {
+        String expected = redactWithStrings(type, "MASK", value);
+        assertEquals(expected, config.redactValue(type.name(), value), type + " " + value);
+
+        StringBuilder out = new StringBuilder("prefix:");
+        config.redactValue(type.name(), value, out);
+        assertEquals("prefix:" + expected, out.toString(), type + " " + value);
+      }
+    }
+  }
+
+  @Test
+  public void testFieldLookupIgnoresCase() {
+    RedactionConfig config = new RedactionConfig("MASK");
+    config.addField("creditCard", RedactionType.CREDIT_CARD);
+    config.addField("CREDITCARD", RedactionType.FULL);
+
+    assertTrue(config.shouldRedact("CreditCard"));
+    assertEquals(RedactionType.FULL, config.getRedactionType("creditcard"));
+    assertEquals(List.of("creditcard"), List.copyOf(config.getFieldNames()));
+  }
+
+  @Test
+  public void testCustomMasker() {
+    RedactionConfig config = new RedactionConfig("MASK");
+    config.addField("iban", (value, mask, out) -> out.append(value, 0, 4).append(mask));
+
+    assertEquals("DE89MASK", config.redactValue("IBAN", "DE89370400440532013000"));
+    assertNull(config.getRedactionType("iban"));
+    assertNotNull(config.getMasker("iban"));
+  }
+
+  @Test
+  public void testUnconfiguredAndEmptyValuesAreKept() {
+    RedactionConfig config = new RedactionConfig("MASK");
+    config.addField("password");
+    StringBuilder out = new StringBuilder();
+
+    config.redactValue("user", "jane", out);
+    config.redactValue("password", "", out);
+
+    assertEquals("jane", out.toString());
+    assertEquals("", config.redactValue("password", ""));
+    assertNull(config.redactValue("password", null));
+  }
+
+  /**
+   * The regex, split and concatenation based maskers RedactionConfig used before.
+   */
+  private static String redactWithStrings(RedactionType type, String mask, String value) {
+    switch (type) {
+      case CREDIT_CARD:
+        return lastFour(value, "**** **** **** ", mask);
+      case PHONE:
+        return lastFour(value, "******", mask);
+      case SSN:
+        return lastFour(value, "***-**-", mask);
+      case EMAIL: {
+        if (!value.contains("@")) {
+          return mask;
+        }
+        String[] parts = value.split("@", 2);
+        if (parts[0].isEmpty()) {
+          return mask + "@" + parts[1];
+        }
+        return parts[0].substring(0, 1) + mask + "@" + parts[1];
+      }
+      case ADDRESS: {
+        String[] parts = value.split(",");
+        if (parts.length <= 1) {
+          return mask;
+        }
+        StringBuilder redacted = new StringBuilder("*****");
+        for (int i = Math.max(1, parts.length - 2); i < parts.length; i++) {
+          redacted.append(",").append(parts[i].trim());
+        }
+        return redacted.toString();
+      }
+      default:
+        return mask;
+    }
+  }
+
+  private static String lastFour(String value, String prefix, String mask) {
+    String cleaned = value.replaceAll("[^0-9]", "");
+    if (cleaned.length() < 4) {
+      return mask;
+    }
+    return prefix + cleaned.substring(cleaned.length() - 4);
+  }
+}
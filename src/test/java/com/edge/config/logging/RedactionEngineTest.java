@@ -0,0 +1,81 @@
+package com.edge.config.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RedactionEngineTest {
+  private static final List<String> MESSAGES = List.of(
+      "User with password=Secret123! has logged in",
+      "Payment with creditCard=4111-1111-1111-1111 for email: john.doe@example.com",
+      "Call at phone=555-123-4567, ssn: '123-45-6789' and PASSWORD = \"hunter2\"",
+      "token=abc token=def secret:ghi key=jkl accessKey=mno",
+      "address=\"221B Baker Street, London, UK\" keyboard=qwerty passwords=plural",
+      "{\"password\":\"x\", \"email\": \"a@b.c\"}",
+      "nothing sensitive here",
+      "password=",
+      "customerId=42,orderNumber=7}{userEmail=jane.smith@company.org");
+
+  @Test
+  public void testSinglePassMatchesPerFieldRedaction() {
+    RedactionConfig config = new RedactionConfig("********");
+    config.addField("password", RedactionType.FULL);
+    config.addField("token", RedactionType.FULL);
+    config.addField("secret", RedactionType.FULL);
+    config.addField("key", RedactionType.FULL);
+    config.addField("accessKey", RedactionType.FULL);
+    config.addField("creditCard", RedactionType.CREDIT_CARD);
+    config.addField("email", RedactionType.EMAIL);
+    config.addField("userEmail", RedactionType.EMAIL);
+    config.addField("phone", RedactionType.PHONE);
+    config.addField("ssn", RedactionType.SSN);
+    config.addField("address", RedactionType.ADDRESS);
+    config.addField("customerId", RedactionType.FULL);
+    RedactionEngine engine = new RedactionEngine(config);
+
+    for (String message : MESSAGES) {
+      assertEquals(redactPerField(config, message), engine.redact(message), message);
+    }
+  }
+
+  @Test
+  public void testUnmatchedMessageIsReturnedAsIs() {
+    RedactionConfig config = new RedactionConfig("********");
+    config.addField("password", RedactionType.FULL);
+    String message = "nothing sensitive here";
+
+    assertSame(message, new RedactionEngine(config).redact(message));
+    assertTrue(new RedactionEngine(new RedactionConfig("********")).isEmpty());
+  }
+
+  @Test
+  public void testReplacementIsLiteral() {
+    RedactionConfig config = new RedactionConfig("$1\\");
+    config.addField("password", RedactionType.FULL);
+
+    assertEquals("password=$1\\ done", new RedactionEngine(config).redact("password=abc done"));
+  }
+
+  /**
+   * The redaction loop RedactingPatternLayout used before, one compiled pattern
+   * and one pass per field.
+   */
+  private static String redactPerField(RedactionConfig config, String message) {
+    for (String field : config.getFieldNames()) {
+      Pattern pattern = Pattern.compile("(?i)(\\b(?:" + field + ")\\b\\s*[=:]\\s*[\"']?)([^\"'\\s,}{]+)");
+      Matcher matcher = pattern.matcher(message);
+      StringBuffer sb = new StringBuffer();
+      while (matcher.find()) {
+        String redacted = config.redactValue(field, matcher.group(2));
+        matcher.appendReplacement(sb, Matcher.quoteReplacement(matcher.group(1) + redacted));
+      }
+      matcher.appendTail(sb);
+      message = sb.toString();
+    }
+    return message;
+  }
+}
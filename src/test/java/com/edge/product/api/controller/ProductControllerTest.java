@@ -1,24 +1,40 @@
 // Test suite for ProductController (uses MockMvc)
 package com.edge.product.api.controller;
 
+import com.edge.common.BatchItemStatus;
+import com.edge.common.BatchResult;
+import com.edge.common.CursorPage;
+import com.edge.common.Versioned;
+import com.edge.exception.PreconditionFailedException;
 import com.edge.product.api.dto.ProductDTO;
+import com.edge.product.api.dto.ProductSummaryDTO;
 import com.edge.product.application.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.security.test.context.support.WithMockUser;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,6 +46,9 @@ class ProductControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockitoBean
     private ProductService productService;
 
@@ -131,4 +150,234 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[1].id").value(id2.toString()))
                 .andExpect(jsonPath("$[1].name").value("Product 2"));
     }
+
+    @Test
+    @DisplayName("Should return a keyset page with the next cursor")
+    @WithMockUser
+    void testScrollProducts() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        CursorPage<ProductDTO> page = new CursorPage<>(
+                List.of(ProductDTO.builder().id(id).name("Product 1").price(BigDecimal.TEN).build()),
+                1, "next-token", true);
+        when(productService.scroll(null, 1, "name", Sort.Direction.DESC)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/scroll")
+                .param("size", "1")
+                .param("sort", "name")
+                .param("direction", "DESC")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("Should export products as newline-delimited JSON")
+    @WithMockUser
+    @SuppressWarnings("unchecked")
+    void testExportProducts() throws Exception {
+        // Arrange
+        UUID id1 = UUID.randomUUID();
+        UUID id2 = UUID.randomUUID();
+        when(productService.streamAll(any())).thenAnswer(invocation -> {
+            Consumer<ProductDTO> consumer = invocation.getArgument(0);
+            consumer.accept(ProductDTO.builder().id(id1).name("Product 1").build());
+            consumer.accept(ProductDTO.builder().id(id2).name("Product 2").build());
+            return 2L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"" + id1));
+        assertTrue(lines[1].startsWith("{\"id\":\"" + id2));
+        assertTrue(body.endsWith("}\n"));
+    }
+
+    @Test
+    @DisplayName("Should report a status per id for a batch update")
+    @WithMockUser
+    void testBatchUpdateProducts() throws Exception {
+        // Arrange
+        UUID updated = UUID.randomUUID();
+        UUID conflict = UUID.randomUUID();
+        BatchResult<UUID> result = new BatchResult<>();
+        result.put(updated, BatchItemStatus.UPDATED);
+        result.put(conflict, BatchItemStatus.CONFLICT);
+        when(productService.batchUpdate(anyMap())).thenReturn(result);
+        Map<UUID, ProductDTO> body = Map.of(
+                updated, ProductDTO.builder().name("Repriced").price(BigDecimal.ONE).version(0L).build(),
+                conflict, ProductDTO.builder().name("Stale").price(BigDecimal.ONE).version(3L).build());
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body))
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results['" + updated + "']").value("UPDATED"))
+                .andExpect(jsonPath("$.results['" + conflict + "']").value("CONFLICT"));
+        verify(productService).batchUpdate(argThat(updates -> updates.size() == 2
+                && "Repriced".equals(updates.get(updated).getName())));
+    }
+
+    @Test
+    @DisplayName("Should validate every product of a batch update")
+    @WithMockUser
+    void testBatchUpdateRejectsInvalidProducts() throws Exception {
+        // Arrange
+        Map<UUID, ProductDTO> body = Map.of(
+                UUID.randomUUID(), ProductDTO.builder().price(BigDecimal.ONE).build(),
+                UUID.randomUUID(), ProductDTO.builder().name("x".repeat(101)).build());
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isBadRequest());
+        verify(productService, never()).batchUpdate(anyMap());
+    }
+
+    @Test
+    @DisplayName("Should write the cached JSON of a versioned product as it is")
+    @WithMockUser
+    void testGetProductByIdFromResponseCache() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        byte[] json = ("{\"id\":\"" + id + "\",\"name\":\"Cached\"}").getBytes(StandardCharsets.UTF_8);
+        when(productService.isVersioned()).thenReturn(true);
+        when(productService.isResponseCacheEnabled()).thenReturn(true);
+        when(productService.getSerialized(eq(id), any())).thenReturn(Optional.of(new Versioned<>(3L, json)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/" + id)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"" + id + ":3\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(json));
+        verify(productService, never()).get(id);
+        verify(productService, never()).findVersion(id);
+    }
+
+    @Test
+    @DisplayName("Should take the ETag of a versioned product from the read that returns it")
+    @WithMockUser
+    void testGetVersionedProductById() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        ProductDTO dto = ProductDTO.builder().id(id).name("Test").version(4L).build();
+        when(productService.isVersioned()).thenReturn(true);
+        when(productService.getVersioned(id)).thenReturn(Optional.of(new Versioned<>(4L, dto)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/" + id)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"" + id + ":4\""))
+                .andExpect(jsonPath("$.name").value("Test"));
+        verify(productService, never()).findVersion(id);
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 without reading the product")
+    @WithMockUser
+    void testGetProductByIdNotModified() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(productService.isVersioned()).thenReturn(true);
+        when(productService.findVersion(id)).thenReturn(Optional.of(3L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/" + id)
+                .header("If-None-Match", "\"" + id + ":3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("ETag", "\"" + id + ":3\""))
+                .andExpect(content().string(""));
+        verify(productService, never()).get(id);
+        verify(productService, never()).getSerialized(eq(id), any());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown versioned product")
+    @WithMockUser
+    void testGetVersionedProductNotFound() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(productService.isVersioned()).thenReturn(true);
+        when(productService.findVersion(id)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/" + id)
+                .header("If-None-Match", "\"" + id + ":3\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should reject an update whose If-Match does not carry the current version")
+    @WithMockUser
+    @SuppressWarnings("unchecked")
+    void testUpdateProductWithStaleIfMatch() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(productService.update(eq(id), any(ProductDTO.class), any(Predicate.class)))
+                .thenAnswer(invocation -> {
+                    Predicate<Object> condition = invocation.getArgument(2);
+                    if (!condition.test(3L)) {
+                        throw new PreconditionFailedException("modified");
+                    }
+                    return Optional.of(invocation.getArgument(1, ProductDTO.class));
+                });
+        String body = objectMapper.writeValueAsString(
+                ProductDTO.builder().name("Renamed").price(BigDecimal.ONE).build());
+
+        // Act & Assert
+        mockMvc.perform(put("/api/products/" + id)
+                .header("If-Match", "\"" + id + ":2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/products/" + id)
+                .header("If-Match", "\"" + id + ":2\", \"" + id + ":3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed"));
+    }
+
+    @Test
+    @DisplayName("Should return the summary view of all products")
+    @WithMockUser
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    void testGetAllProductsSummaryView() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(productService.findAllSummaries())
+                .thenReturn((List) List.of(new ProductSummaryDTO(id, "Product 1", BigDecimal.TEN)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products").param("view", "summary")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id.toString()))
+                .andExpect(jsonPath("$[0].name").value("Product 1"))
+                .andExpect(jsonPath("$[0].specifications").doesNotExist());
+        verify(productService, never()).findAll();
+
+        mockMvc.perform(get("/api/products").param("view", "compact"))
+                .andExpect(status().isBadRequest());
+    }
 }
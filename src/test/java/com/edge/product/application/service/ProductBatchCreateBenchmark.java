@@ -0,0 +1,108 @@
+// Benchmark for ProductService.batchCreate against the previous saveAll path
+package com.edge.product.application.service;
+
+import com.edge.product.api.dto.ProductDTO;
+import com.edge.product.domain.entity.Product;
+import com.edge.product.infrastructure.mapper.ProductMapper;
+import com.edge.product.infrastructure.mapper.ProductMapperImpl;
+import com.edge.product.infrastructure.persistence.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ProductService.class, ProductMapperImpl.class })
+class ProductBatchCreateBenchmark {
+    private static final int PRODUCTS = 10_000;
+    private static final int SPECIFICATIONS = 5;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void compareSaveAllWithBatchCreate() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<ProductDTO> products = ProductServiceBatchTest.products(PRODUCTS, SPECIFICATIONS);
+
+        // Warm up both paths once before measuring
+        measure("saveAll (warm-up)", () -> transaction.execute(status -> saveAll(products)));
+        measure("batchCreate (warm-up)", () -> productService.batchCreate(products));
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            measure("saveAll round " + round, () -> transaction.execute(status -> saveAll(products)));
+            measure("batchCreate round " + round, () -> productService.batchCreate(products));
+        }
+    }
+
+    /**
+     * The batchCreate implementation before JDBC batching was introduced, run
+     * with JDBC batching switched off as it was in the previous configuration.
+     */
+    private List<ProductDTO> saveAll(List<ProductDTO> dtos) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+        dtos.forEach(productService::beforeCreate);
+        List<Product> entities = dtos.stream().map(productMapper::toEntity).collect(Collectors.toList());
+        List<Product> saved = productRepository.saveAll(entities);
+        saved.forEach(productService::afterCreate);
+        return saved.stream().map(productMapper::toDTO).collect(Collectors.toList());
+    }
+
+    private void measure(String label, Supplier<List<ProductDTO>> action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        List<ProductDTO> created = action.get();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(PRODUCTS, created.size());
+        System.out.printf("%-24s %6d ms  %7d statements  %6d entity inserts  %5d flushes%n", label, elapsedMs,
+                statistics.getPrepareStatementCount(), statistics.getEntityInsertCount(), statistics.getFlushCount());
+        jdbcTemplate.update("DELETE FROM product_specifications");
+        jdbcTemplate.update("DELETE FROM products");
+    }
+}
@@ -0,0 +1,204 @@
+// Load test of GET /api/products on platform and on virtual request threads against a slow database
+package com.edge.product.application.service;
+
+import com.edge.TemplateApplication;
+import com.edge.template.util.LatencyHistogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts the application twice, once per request thread mode, with every JDBC statement
+ * delayed, and drives GET /api/products from many concurrent clients. With more clients
+ * than Tomcat threads, platform threads queue requests while they wait on the database;
+ * virtual threads do not. Override the defaults with e.g. {@code -Dload.clients=800}.
+ */
+@Tag("benchmark")
+class ProductEndpointLoadBenchmark {
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+    private static final Duration DB_LATENCY = Duration.ofMillis(Long.getLong("load.dbLatencyMs", 50));
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("load.warmUpSeconds", 5));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("load.seconds", 15));
+    private static final int PRODUCTS = 20;
+    private static final int SPECIFICATIONS = 2;
+
+    @Test
+    void comparePlatformWithVirtualThreads() throws Exception {
+        System.out.printf("%d clients, %d ms per statement, %d s measured%n",
+                CLIENTS, DB_LATENCY.toMillis(), MEASUREMENT.toSeconds());
+        print("platform threads", run(false));
+
+        assumeTrue(Runtime.version().feature() >= 21,
+                "Virtual threads need Java 21: ./gradlew benchmark -PjavaVersion=21");
+        print("virtual threads", run(true));
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TemplateApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        // Enough connections for every client, so the request threads are the limit
+                        "spring.datasource.hikari.maximum-pool-size=" + CLIENTS,
+                        "logging.level.com.edge=WARN")
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new SlowDatabase(DB_LATENCY)))
+                .run()) {
+            context.getBean(ProductService.class)
+                    .batchCreate(ProductServiceBatchTest.products(PRODUCTS, SPECIFICATIONS));
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return load(URI.create("http://localhost:" + port));
+        }
+    }
+
+    private Result load(URI base) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .build();
+        logIn(client, base);
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/products")).GET().build();
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long measureUntil = measureFrom + MEASUREMENT.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    long start;
+                    while ((start = System.nanoTime()) < measureUntil) {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (start < measureFrom) {
+                            continue;
+                        }
+                        if (response.statusCode() == 200) {
+                            histogram.record(System.nanoTime() - start);
+                        } else {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        return new Result(histogram.snapshot(), errors.sum());
+    }
+
+    /**
+     * Logs in once through the form, so requests reuse the session instead of each
+     * checking the BCrypt password hash
+     */
+    private static void logIn(HttpClient client, URI base) throws Exception {
+        HttpRequest login = HttpRequest.newBuilder(base.resolve("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=user&password=password"))
+                .build();
+        HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+        assertEquals(302, response.statusCode());
+        assertFalse(response.headers().firstValue("Location").orElse("").contains("error"));
+    }
+
+    private static void print(String mode, Result result) {
+        LatencyHistogram.Snapshot latency = result.latency();
+        System.out.printf("%-17s %8.0f req/s  p50 %8.1f ms  p99 %8.1f ms  p999 %8.1f ms  errors %d%n",
+                mode,
+                latency.count() / (double) MEASUREMENT.toSeconds(),
+                latency.p50(),
+                latency.p99(),
+                latency.p999(),
+                result.errors());
+        assertEquals(0, result.errors());
+    }
+
+    private record Result(LatencyHistogram.Snapshot latency, long errors) {
+    }
+
+    /**
+     * Wraps the data source so every statement execution first waits, like a remote
+     * database under load would
+     */
+    private static final class SlowDatabase implements BeanPostProcessor {
+        private final Duration latency;
+
+        SlowDatabase(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return (Connection) delayed(super.getConnection(), Connection.class);
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return (Connection) delayed(super.getConnection(username, password), Connection.class);
+                }
+            };
+        }
+
+        /**
+         * Proxies a connection or statement, delaying the {@code execute} methods and
+         * proxying the statements it creates
+         */
+        private Object delayed(Object target, Class<?> type) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            Thread.sleep(latency.toMillis());
+                        }
+                        Object result;
+                        try {
+                            result = method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        Class<?> returnType = method.getReturnType();
+                        if (result != null && returnType.isInterface() && Statement.class.isAssignableFrom(returnType)) {
+                            return delayed(result, returnType);
+                        }
+                        return result;
+                    });
+        }
+    }
+}
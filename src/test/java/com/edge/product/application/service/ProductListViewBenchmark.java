@@ -0,0 +1,75 @@
+// Benchmark for the summary (projection) view against the full entity view of list reads
+package com.edge.product.application.service;
+
+import com.edge.product.infrastructure.mapper.ProductMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ProductService.class, ProductMapperImpl.class })
+class ProductListViewBenchmark {
+    private static final int PRODUCTS = 20_000;
+    private static final int SPECIFICATIONS = 3;
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        productService.batchCreate(ProductServiceBatchTest.products(PRODUCTS, SPECIFICATIONS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_specifications");
+        jdbcTemplate.update("DELETE FROM products");
+    }
+
+    @Test
+    void compareFullWithSummaryView() {
+        // Warm up both paths once before measuring
+        measure("full (warm-up)", productService::findAll);
+        measure("summary (warm-up)", productService::findAllSummaries);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            measure("full round " + round, productService::findAll);
+            measure("summary round " + round, productService::findAllSummaries);
+        }
+    }
+
+    private void measure(String label, Supplier<List<?>> read) {
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        List<?> rows = read.get();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long allocatedMb = (THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore) / (1024 * 1024);
+        assertEquals(PRODUCTS, rows.size());
+        System.out.printf("%-20s %6d ms  %6d MB allocated%n", label, elapsedMs, allocatedMb);
+    }
+}
@@ -0,0 +1,129 @@
+// Batch operation tests for ProductService against an in-memory database
+package com.edge.product.application.service;
+
+import com.edge.common.BatchItemStatus;
+import com.edge.common.BatchResult;
+import com.edge.product.api.dto.ProductDTO;
+import com.edge.product.api.dto.ProductSpecificationDTO;
+import com.edge.product.infrastructure.mapper.ProductMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({ ProductService.class, ProductMapperImpl.class })
+class ProductServiceBatchTest {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testBatchCreatePersistsProductsAndSpecificationsAcrossChunks() {
+        // More rows than one batch so that several flush/clear cycles run
+        List<ProductDTO> products = products(120, 2);
+
+        List<ProductDTO> created = productService.batchCreate(products);
+
+        assertEquals(120, created.size());
+        assertNotNull(created.get(0).getId());
+        assertEquals(0L, created.get(119).getVersion());
+        assertEquals(2, created.get(119).getSpecifications().size());
+        assertEquals(120, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class));
+        assertEquals(240, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_specifications WHERE product_id IS NOT NULL", Integer.class));
+    }
+
+    @Test
+    void testBatchDeleteRemovesFoundIdsAndReportsMissingOnes() {
+        List<ProductDTO> created = productService.batchCreate(products(3, 2));
+        UUID missing = UUID.randomUUID();
+        List<UUID> ids = List.of(created.get(0).getId(), missing, created.get(2).getId());
+
+        BatchResult<UUID> result = productService.batchDelete(ids);
+
+        assertEquals(ids, new ArrayList<>(result.getResults().keySet()));
+        assertEquals(BatchItemStatus.DELETED, result.getResults().get(created.get(0).getId()));
+        assertEquals(BatchItemStatus.NOT_FOUND, result.getResults().get(missing));
+        assertEquals(List.of(missing), result.idsWithStatus(BatchItemStatus.NOT_FOUND));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_specifications", Integer.class));
+        assertTrue(productService.get(created.get(1).getId()).isPresent());
+        assertTrue(productService.get(created.get(0).getId()).isEmpty());
+    }
+
+    @Test
+    void testBatchUpdateAppliesChangesAndReportsConflicts() {
+        List<ProductDTO> created = productService.batchCreate(products(3, 0));
+        UUID missing = UUID.randomUUID();
+        Map<UUID, ProductDTO> updates = new LinkedHashMap<>();
+        updates.put(created.get(0).getId(), repriced(created.get(0), BigDecimal.valueOf(11), 0L));
+        updates.put(created.get(1).getId(), repriced(created.get(1), BigDecimal.valueOf(12), 7L));
+        updates.put(created.get(2).getId(), repriced(created.get(2), BigDecimal.valueOf(13), null));
+        updates.put(missing, repriced(created.get(0), BigDecimal.valueOf(14), 0L));
+
+        BatchResult<UUID> result = productService.batchUpdate(updates);
+
+        assertEquals(List.of(created.get(0).getId(), created.get(2).getId()),
+                result.idsWithStatus(BatchItemStatus.UPDATED));
+        assertEquals(List.of(created.get(1).getId()), result.idsWithStatus(BatchItemStatus.CONFLICT));
+        assertEquals(List.of(missing), result.idsWithStatus(BatchItemStatus.NOT_FOUND));
+        assertEquals(0, new BigDecimal("11").compareTo(price(created.get(0).getId())));
+        assertEquals(0, new BigDecimal("1").compareTo(price(created.get(1).getId())));
+        assertEquals(0, new BigDecimal("13").compareTo(price(created.get(2).getId())));
+        assertEquals(1L, productService.get(created.get(0).getId()).orElseThrow().getVersion());
+        assertEquals(0L, productService.get(created.get(1).getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testBatchUpdateKeepsPropertiesTheRequestLeavesOut() {
+        ProductDTO created = productService.batchCreate(products(1, 2)).get(0);
+        ProductDTO priceOnly = ProductDTO.builder().price(BigDecimal.valueOf(42)).build();
+
+        BatchResult<UUID> result = productService.batchUpdate(Map.of(created.getId(), priceOnly));
+
+        assertEquals(List.of(created.getId()), result.idsWithStatus(BatchItemStatus.UPDATED));
+        ProductDTO updated = productService.get(created.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("42").compareTo(updated.getPrice()));
+        assertEquals(created.getName(), updated.getName());
+        assertEquals(2, updated.getSpecifications().size());
+    }
+
+    private BigDecimal price(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT price FROM products WHERE id = ?", BigDecimal.class, id);
+    }
+
+    private static ProductDTO repriced(ProductDTO product, BigDecimal price, Long version) {
+        return ProductDTO.builder().name(product.getName()).price(price).version(version).build();
+    }
+
+    static List<ProductDTO> products(int count, int specificationsPerProduct) {
+        List<ProductDTO> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<ProductSpecificationDTO> specifications = new ArrayList<>(specificationsPerProduct);
+            for (int j = 0; j < specificationsPerProduct; j++) {
+                specifications.add(new ProductSpecificationDTO(null, "spec-" + j, "value-" + j, null));
+            }
+            products.add(ProductDTO.builder()
+                    .name("Product " + i)
+                    .price(BigDecimal.valueOf(i % 100))
+                    .specifications(specifications)
+                    .build());
+        }
+        return products;
+    }
+}
@@ -0,0 +1,203 @@
+// Second-level cache behaviour of ProductService; each service call commits on its own
+package com.edge.product.application.service;
+
+import com.edge.common.BatchItemStatus;
+import com.edge.common.Versioned;
+import com.edge.config.CacheConfig;
+import com.edge.exception.PreconditionFailedException;
+import com.edge.product.api.dto.ProductDTO;
+import com.edge.product.domain.entity.Product;
+import com.edge.product.infrastructure.mapper.ProductMapperImpl;
+import com.edge.template.service.CacheStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({ ProductService.class, ProductMapperImpl.class, CacheConfig.class, CacheStatisticsService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductServiceCacheTest {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    private ProductDTO product;
+
+    @BeforeEach
+    void setUp() {
+        product = productService.batchCreate(ProductServiceBatchTest.products(1, 2)).get(0);
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_specifications");
+        jdbcTemplate.update("DELETE FROM products");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testRepeatedGetIsServedFromCache() {
+        productService.get(product.getId());
+
+        statistics.clear();
+        ProductDTO cached = productService.get(product.getId()).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, cached.getSpecifications().size());
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, product.getId()));
+    }
+
+    @Test
+    void testUpdateReplacesCachedEntry() {
+        productService.get(product.getId());
+
+        productService.update(product.getId(), ProductDTO.builder()
+                .name("Renamed").price(BigDecimal.ONE).version(product.getVersion()).build());
+
+        ProductDTO updated = productService.get(product.getId()).orElseThrow();
+        assertEquals("Renamed", updated.getName());
+        assertEquals(product.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    void testBatchUpdateReplacesCachedEntry() {
+        productService.get(product.getId());
+
+        productService.batchUpdate(Map.of(product.getId(), ProductDTO.builder()
+                .name("Repriced").price(BigDecimal.TEN).version(product.getVersion()).build()));
+
+        ProductDTO updated = productService.get(product.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.TEN.compareTo(updated.getPrice()));
+        assertEquals(product.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    void testDeletesInvalidateCachedEntry() {
+        ProductDTO other = productService.batchCreate(ProductServiceBatchTest.products(1, 1)).get(0);
+        productService.get(product.getId());
+        productService.get(other.getId());
+
+        productService.delete(product.getId());
+        assertEquals(Map.of(other.getId(), BatchItemStatus.DELETED),
+                productService.batchDelete(List.of(other.getId())).getResults());
+
+        assertTrue(productService.get(product.getId()).isEmpty());
+        assertTrue(productService.get(other.getId()).isEmpty());
+    }
+
+    @Test
+    void testBatchDeleteKeepsTheOtherCachedEntries() {
+        ProductDTO other = productService.batchCreate(ProductServiceBatchTest.products(1, 1)).get(0);
+        productService.get(product.getId());
+        productService.get(other.getId());
+
+        productService.batchDelete(List.of(other.getId()));
+
+        statistics.clear();
+        assertEquals(2, productService.get(product.getId()).orElseThrow().getSpecifications().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(productService.get(other.getId()).isEmpty());
+    }
+
+    @Test
+    void testFindVersionReadsTheCurrentVersion() {
+        // Not cached yet: single-column query
+        assertEquals(product.getVersion(), productService.findVersion(product.getId()).orElseThrow());
+        productService.get(product.getId());
+
+        statistics.clear();
+        assertEquals(product.getVersion(), productService.findVersion(product.getId()).orElseThrow());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(productService.findVersion(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testConditionalUpdateRejectsAStaleVersion() {
+        ProductDTO changes = ProductDTO.builder().name("Renamed").price(BigDecimal.ONE).build();
+        Long stale = product.getVersion() - 1;
+
+        assertThrows(PreconditionFailedException.class,
+                () -> productService.update(product.getId(), changes, stale::equals));
+        assertEquals(product.getName(), productService.get(product.getId()).orElseThrow().getName());
+
+        productService.update(product.getId(), changes, product.getVersion()::equals);
+        assertEquals("Renamed", productService.get(product.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void testSerializedResponseIsReusedUntilTheVersionChanges() {
+        AtomicInteger serializations = new AtomicInteger();
+        Function<ProductDTO, byte[]> serializer = dto -> {
+            serializations.incrementAndGet();
+            return (dto.getName() + "@" + dto.getVersion()).getBytes(StandardCharsets.UTF_8);
+        };
+        assertTrue(productService.isResponseCacheEnabled());
+
+        Versioned<byte[]> first = productService.getSerialized(product.getId(), serializer).orElseThrow();
+        byte[] second = productService.getSerialized(product.getId(), serializer).orElseThrow().getBody();
+        assertEquals(product.getVersion(), first.getVersion());
+        assertSame(first.getBody(), second);
+        assertEquals(1, serializations.get());
+
+        productService.update(product.getId(), ProductDTO.builder()
+                .name("Renamed").price(BigDecimal.ONE).version(product.getVersion()).build());
+        Versioned<byte[]> updated = productService.getSerialized(product.getId(), serializer).orElseThrow();
+
+        assertEquals(product.getVersion() + 1, updated.getVersion());
+        assertEquals("Renamed@" + (product.getVersion() + 1), new String(updated.getBody(), StandardCharsets.UTF_8));
+        assertEquals(2, serializations.get());
+        assertTrue(productService.getSerialized(UUID.randomUUID(), serializer).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStatisticsReportHitsAndMisses() {
+        productService.get(product.getId());
+        productService.get(product.getId());
+        UUID missing = UUID.randomUUID();
+        productService.get(missing);
+
+        Map<String, Object> region = (Map<String, Object>) cacheStatisticsService.getCacheStatistics()
+                .get("products");
+
+        assertNotNull(region);
+        assertTrue((Long) region.get("hits") >= 1);
+        assertTrue((Long) region.get("misses") >= 2);
+        assertTrue(region.containsKey("evictions"));
+        assertTrue(cacheStatisticsService.getCacheStatistics().containsKey("responses"));
+    }
+}
@@ -0,0 +1,100 @@
+// Statement counts of the ProductService read paths
+package com.edge.product.application.service;
+
+import com.edge.common.CursorPage;
+import com.edge.product.api.dto.ProductDTO;
+import com.edge.product.domain.entity.Product;
+import com.edge.product.infrastructure.mapper.ProductMapperImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({ ProductService.class, ProductMapperImpl.class })
+class ProductServiceFetchTest {
+    private static final int PRODUCTS = 40;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        productService.batchCreate(ProductServiceBatchTest.products(PRODUCTS, 3));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void testFindAllLoadsSpecificationsInConstantQueries() {
+        List<ProductDTO> products = countStatements(2, productService::findAll);
+
+        assertEquals(PRODUCTS, products.size());
+        products.forEach(product -> assertEquals(3, product.getSpecifications().size()));
+    }
+
+    @Test
+    void testFindAllBySpecificationLoadsSpecificationsInConstantQueries() {
+        Specification<Product> cheap = (root, query, cb) -> cb.lessThan(root.get("price"), BigDecimal.valueOf(20));
+
+        List<ProductDTO> products = countStatements(2, () -> productService.findAllBySpecification(cheap));
+
+        assertEquals(20, products.size());
+        products.forEach(product -> assertEquals(3, product.getSpecifications().size()));
+    }
+
+    @Test
+    void testPagedReadsLoadSpecificationsInConstantQueries() {
+        CursorPage<ProductDTO> slice = countStatements(2, () -> productService.scroll(null, 25, "price", Sort.Direction.ASC));
+        assertEquals(25, slice.getContent().size());
+        slice.getContent().forEach(product -> assertEquals(3, product.getSpecifications().size()));
+
+        // Data query, count query and the fetch graph
+        Page<ProductDTO> page = countStatements(3, () -> productService.findPage(0, 25, "name", Sort.Direction.ASC));
+        assertEquals(25, page.getContent().size());
+        page.getContent().forEach(product -> assertEquals(3, product.getSpecifications().size()));
+    }
+
+    @Test
+    void testStreamAllLoadsSpecificationsOncePerChunk() {
+        List<ProductDTO> streamed = new ArrayList<>();
+
+        countStatements(2, () -> productService.streamAll(streamed::add));
+
+        assertEquals(PRODUCTS, streamed.size());
+        streamed.forEach(product -> assertEquals(3, product.getSpecifications().size()));
+    }
+
+    private <R> R countStatements(long expected, Supplier<R> read) {
+        entityManager.clear();
+        statistics.clear();
+        R result = read.get();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        return result;
+    }
+}
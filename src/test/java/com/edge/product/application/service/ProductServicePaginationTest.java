@@ -0,0 +1,124 @@
+// Pagination tests for ProductService against an in-memory database
+package com.edge.product.application.service;
+
+import com.edge.common.CursorPage;
+import com.edge.product.api.dto.ProductDTO;
+import com.edge.product.api.dto.ProductSummaryDTO;
+import com.edge.product.infrastructure.mapper.ProductMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ ProductService.class, ProductMapperImpl.class })
+class ProductServicePaginationTest {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        List<ProductDTO> products = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Prices repeat so that the id tie-breaker is exercised
+            products.add(ProductDTO.builder()
+                    .name(String.format("Product %02d", i))
+                    .price(BigDecimal.valueOf(i % 5))
+                    .build());
+        }
+        productService.batchCreate(products);
+    }
+
+    @Test
+    void testScrollVisitsEveryRowOnceInOrder() {
+        List<ProductDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ProductDTO> page = productService.scroll(cursor, 10, "price", Sort.Direction.DESC);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasNext(), cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, seen.size());
+        Set<UUID> ids = new HashSet<>();
+        seen.forEach(dto -> ids.add(dto.getId()));
+        assertEquals(25, ids.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).getPrice().compareTo(seen.get(i).getPrice()) >= 0);
+        }
+    }
+
+    @Test
+    void testSummaryViewSkipsThePersistenceContext() {
+        entityManager.clear();
+
+        List<?> summaries = productService.findAllSummaries();
+
+        assertEquals(25, summaries.size());
+        assertInstanceOf(ProductSummaryDTO.class, summaries.get(0));
+        assertNotNull(((ProductSummaryDTO) summaries.get(0)).name());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testSummaryPageFollowsPageSorting() {
+        Page<?> page = productService.findSummaryPage(1, 10, "name", Sort.Direction.DESC);
+
+        assertEquals(25, page.getTotalElements());
+        assertEquals(10, page.getContent().size());
+        assertEquals("Product 14", ((ProductSummaryDTO) page.getContent().get(0)).name());
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.findSummaryPage(0, 10, "description", Sort.Direction.ASC));
+    }
+
+    @Test
+    void testScrollByIdWithoutSortProperty() {
+        CursorPage<ProductDTO> first = productService.scroll(null, 20, null, Sort.Direction.ASC);
+        CursorPage<ProductDTO> second = productService.scroll(first.getNextCursor(), 20, null, null);
+
+        assertEquals(20, first.getSize());
+        assertEquals(5, second.getSize());
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testFindPageUsesOffsetPaging() {
+        Page<ProductDTO> page = productService.findPage(2, 10, "name", Sort.Direction.ASC);
+
+        assertEquals(25, page.getTotalElements());
+        assertEquals(5, page.getNumberOfElements());
+        assertEquals("Product 20", page.getContent().get(0).getName());
+    }
+
+    @Test
+    void testRejectsUnsupportedSortAndInvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.scroll(null, 10, "description", Sort.Direction.ASC));
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.scroll("not-a-cursor", 10, null, Sort.Direction.ASC));
+    }
+}
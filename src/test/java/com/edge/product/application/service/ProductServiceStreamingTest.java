@@ -0,0 +1,91 @@
+// Streaming export tests for ProductService against a file-backed database
+package com.edge.product.application.service;
+
+import com.edge.product.infrastructure.mapper.ProductMapperImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The rows live in a file-backed database so that the table itself does not
+ * occupy the heap being measured. The table grows to several GB, so this runs
+ * with the benchmarks: ./gradlew benchmark --tests '*StreamingTest'
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:file:./build/tmp/streaming-test/products;DB_CLOSE_ON_EXIT=FALSE")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ProductService.class, ProductMapperImpl.class })
+class ProductServiceStreamingTest {
+    private static final Logger logger = LoggerFactory.getLogger(ProductServiceStreamingTest.class);
+    private static final Path DATABASE_DIRECTORY = Path.of("build/tmp/streaming-test");
+    private static final int ROWS = 1_000_000;
+    private static final int SAMPLE_EVERY = 100_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testHeapStaysFlatWhileStreamingAMillionRows() {
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price, version) "
+                + "SELECT RANDOM_UUID(), CONCAT('Product ', X), 'Streaming test product', MOD(X, 1000), 0 "
+                + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        try {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            long baseline = usedHeapAfterGc(memory);
+            AtomicLong peak = new AtomicLong(baseline);
+            AtomicLong seen = new AtomicLong();
+
+            long streamed = productService.streamAll(dto -> {
+                assertNotNull(dto.getId());
+                if (seen.incrementAndGet() % SAMPLE_EVERY == 0) {
+                    peak.accumulateAndGet(usedHeapAfterGc(memory), Math::max);
+                }
+            });
+
+            assertEquals(ROWS, streamed);
+            assertEquals(ROWS, seen.get());
+            long growth = peak.get() - baseline;
+            logger.info("Streaming heap growth over {} rows: {} KB", ROWS, growth / 1024);
+            assertTrue(growth < MAX_HEAP_GROWTH_BYTES, "Heap grew by " + growth + " bytes while streaming");
+        } finally {
+            jdbcTemplate.update("DELETE FROM products");
+        }
+    }
+
+    @AfterAll
+    static void deleteDatabase() throws IOException {
+        FileSystemUtils.deleteRecursively(DATABASE_DIRECTORY);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,64 @@
+package com.edge.product.infrastructure.external;
+
+import com.edge.template.util.TraceContext;
+import com.edge.template.util.TraceParent;
+import com.edge.template.util.TracePropagationInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ProductExternalServiceTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private MockRestServiceServer server;
+    private ProductExternalService service;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl("http://pricing.test")
+                .requestInterceptor(new TracePropagationInterceptor());
+        server = MockRestServiceServer.bindTo(builder).build();
+        service = new ProductExternalService(builder.build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TraceContext.clearTrace();
+    }
+
+    @Test
+    void testForwardsTheTraceWithTheCallersSampledFlag() {
+        TraceContext.initTrace("jane", new TraceParent(TRACE_ID, "00f067aa0ba902b7", false), "vendor=abc");
+        String span = TraceContext.startSpan("ProductExternalService");
+
+        server.expect(requestTo("http://pricing.test/pricing/42"))
+                .andExpect(header(TraceContext.TRACEPARENT_HEADER, "00-" + TRACE_ID + "-" + span + "-00"))
+                .andExpect(header(TraceContext.TRACESTATE_HEADER, "vendor=abc"))
+                .andExpect(header(TraceContext.TRACE_ID_HEADER, TRACE_ID))
+                .andRespond(withSuccess());
+
+        assertTrue(service.fetchExternalPricing("42"));
+        server.verify();
+    }
+
+    @Test
+    void testReportsFailedCalls() {
+        TraceContext.initTrace("jane");
+
+        server.expect(requestTo("http://pricing.test/pricing/42"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertFalse(service.fetchExternalPricing("42"));
+        server.verify();
+    }
+}
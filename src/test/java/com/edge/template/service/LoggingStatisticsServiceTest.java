@@ -0,0 +1,60 @@
+package com.edge.template.service;
+
+import com.edge.config.logging.BatchingAsyncAppender;
+import com.edge.config.logging.RedactingPatternLayout;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggingStatisticsServiceTest {
+
+    @Test
+    void testReportsAsyncQueueAndRedactionCounters() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        RedactingPatternLayout layout = new RedactingPatternLayout();
+        layout.setContext(context);
+        layout.setFieldsToRedact("password");
+        layout.setPattern("%msg%n");
+        layout.start();
+        LayoutWrappingEncoder<ILoggingEvent> encoder = new LayoutWrappingEncoder<>();
+        encoder.setContext(context);
+        encoder.setLayout(layout);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setName("OUT");
+        output.setEncoder(encoder);
+        output.setOutputStream(new ByteArrayOutputStream());
+        output.start();
+
+        BatchingAsyncAppender async = new BatchingAsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC");
+        async.addAppender(output);
+        async.start();
+        Logger logger = context.getLogger("test");
+        logger.addAppender(async);
+
+        logger.info("password=secret");
+        logger.info("nothing to hide");
+        // Stopping drains the queue
+        async.stop();
+
+        Map<String, Object> statistics = LoggingStatisticsService.getLoggingStatistics(context);
+
+        assertEquals(Map.of("queueDepth", 0, "remainingCapacity", 8192, "droppedEvents", 0L),
+                statistics.get("ASYNC"));
+        assertEquals(Map.of("redactedEvents", 1L, "skippedEvents", 1L), statistics.get("OUT"));
+    }
+}
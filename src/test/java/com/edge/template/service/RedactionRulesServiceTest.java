@@ -0,0 +1,90 @@
+package com.edge.template.service;
+
+import com.edge.config.LogRedactionProperties;
+import com.edge.config.logging.RedactionRuleset;
+import com.edge.config.logging.RedactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedactionRulesServiceTest {
+    @TempDir
+    Path tempDir;
+
+    private RedactionRulesService service;
+
+    @BeforeEach
+    void setUp() {
+        LogRedactionProperties properties = new LogRedactionProperties();
+        properties.setFields(List.of("password"));
+        properties.setFieldTypes(Map.of("email", "EMAIL"));
+        service = new RedactionRulesService(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The rules are published to the shared logback context
+        service.resetRules("test");
+    }
+
+    @Test
+    void testAddAndRemoveFields() {
+        RedactionRuleset configured = service.getActiveRules();
+
+        service.addField("cardNumber", null, "test");
+        service.addField("iban", "FULL", "test");
+        RedactionRuleset changed = service.removeField("email", "test");
+
+        assertSame(changed, service.getActiveRules());
+        assertTrue(changed.getVersion() > configured.getVersion());
+        assertEquals(RedactionType.CREDIT_CARD, changed.getMaskers().get("cardnumber"));
+        assertEquals(RedactionType.FULL, changed.getMaskers().get("iban"));
+        assertFalse(changed.getMaskers().containsKey("email"));
+        assertEquals(true, service.describeRules().get("overridden"));
+
+        service.resetRules("test");
+        assertSame(configured, service.getActiveRules());
+        assertEquals(false, service.describeRules().get("overridden"));
+    }
+
+    @Test
+    void testUnknownTypeLeavesRulesUnchanged() {
+        RedactionRuleset before = service.getActiveRules();
+
+        assertThrows(IllegalArgumentException.class, () -> service.addField("iban", "NOT_A_TYPE", "test"));
+        assertSame(before, service.getActiveRules());
+    }
+
+    @Test
+    void testReloadsRulesFile() throws Exception {
+        Path file = tempDir.resolve("redaction.properties");
+        Files.writeString(file, """
+                fields=password, pin
+                field-types.phone=PHONE
+                mask-with=###
+                """);
+
+        service.reloadRulesFile(file);
+        RedactionRuleset rules = service.getActiveRules();
+        assertEquals("###", rules.getRedactionString());
+        assertEquals(List.of("password", "pin", "phone"), List.copyOf(rules.getMaskers().keySet()));
+        assertEquals(RedactionType.PHONE, rules.getMaskers().get("phone"));
+
+        Files.writeString(file, "field-types.phone=NOT_A_TYPE\n");
+        service.reloadRulesFile(file);
+        assertSame(rules, service.getActiveRules());
+
+        Files.delete(file);
+        service.reloadRulesFile(file);
+        assertEquals(Map.of("password", RedactionType.FULL, "email", RedactionType.EMAIL),
+                service.getActiveRules().getMaskers());
+    }
+}
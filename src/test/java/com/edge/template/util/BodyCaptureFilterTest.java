@@ -0,0 +1,118 @@
+package com.edge.template.util;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.edge.config.BodyCaptureProperties;
+import com.edge.config.LogRedactionProperties;
+import com.edge.template.service.RedactionRulesService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BodyCaptureFilterTest {
+    private final Logger filterLogger = (Logger) LoggerFactory.getLogger(BodyCaptureFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>() {
+        @Override
+        protected void append(ILoggingEvent event) {
+            // Copy the MDC while the filter still has the trace ID set
+            event.prepareForDeferredProcessing();
+            super.append(event);
+        }
+    };
+    private final BodyCaptureProperties properties = new BodyCaptureProperties();
+    private RedactionRulesService redactionRulesService;
+
+    @BeforeEach
+    void setUp() {
+        appender.setContext(filterLogger.getLoggerContext());
+        appender.start();
+        filterLogger.addAppender(appender);
+        properties.setMaxSize(DataSize.ofBytes(64));
+        properties.setSamplePercentage(100);
+        LogRedactionProperties redaction = new LogRedactionProperties();
+        redaction.setFields(List.of("password"));
+        redaction.setFieldTypes(Map.of("email", "EMAIL"));
+        redactionRulesService = new RedactionRulesService(redaction);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filterLogger.detachAppender(appender);
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new BodyCaptureFilter(properties, redactionRulesService).doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest jsonPost(String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    void testLogsRedactedBodiesAndPassesThemThrough() throws Exception {
+        String requestBody = "{\"name\":\"Widget\",\"password\":\"hunter2\"}";
+        String responseBody = "{\"id\":7,\"email\":\"jane@example.com\"}";
+        MockHttpServletRequest request = jsonPost("/api/products", requestBody);
+        request.setAttribute(RequestLoggingInterceptor.TRACE_ID_ATTRIBUTE, "t-1");
+
+        MockHttpServletResponse response = run(request, (req, res) -> {
+            assertEquals(requestBody, new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            res.setContentType("application/json");
+            res.getOutputStream().write(responseBody.getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertEquals(responseBody, response.getContentAsString());
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals("Captured bodies: POST /api/products | Status: 200"
+                + " | Request (38 bytes): {\"name\":\"Widget\",\"password\":\"********\"}"
+                + " | Response (35 bytes): {\"id\":7,\"email\":\"j********@example.com\"}",
+                event.getFormattedMessage());
+        assertEquals("t-1", event.getMDCPropertyMap().get("traceId"));
+    }
+
+    @Test
+    void testKeepsOnlyTheStartOfLargeBodies() throws Exception {
+        String requestBody = "{\"password\":\"hunter2\",\"items\":[" + "1,".repeat(100) + "1]}";
+
+        run(jsonPost("/api/products/batch", requestBody), (req, res) -> {
+            req.getReader().lines().count();
+            res.setContentType("text/plain");
+            res.getWriter().write("x".repeat(200));
+        });
+
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.contains("Request (" + requestBody.length() + " bytes): {\"password\":\"********\",\"items\":[1,"));
+        assertTrue(message.contains("Response (200 bytes): " + "x".repeat(64) + "...(truncated)"));
+        assertFalse(message.contains("hunter2"));
+    }
+
+    @Test
+    void testSkipsExcludedAndUnsampledRequests() throws Exception {
+        FilterChain chain = (req, res) -> req.getInputStream().readAllBytes();
+
+        run(jsonPost("/api/admin/redaction", "{}"), chain);
+        run(jsonPost("/actuator/health", "{}"), chain);
+        properties.setSamplePercentage(0);
+        run(jsonPost("/api/products", "{}"), chain);
+
+        assertTrue(appender.list.isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.edge.template.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsAreExactForSmallValuesAndWithinThreePercentAbove() {
+        for (long value = 0; value < 64; value++) {
+            assertEquals(value, LatencyHistogram.highestValueInBucket(LatencyHistogram.bucketIndex(value)));
+        }
+        for (long value = 64; value < 1L << 40; value = value * 3 / 2 + 7) {
+            long highest = LatencyHistogram.highestValueInBucket(LatencyHistogram.bucketIndex(value));
+            assertTrue(highest >= value && highest - value <= value / 32, value + " -> " + highest);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueInBucket(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testReportsPercentilesInMilliseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 1ms to 1000ms, one of each
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.count());
+        assertEquals(500.5, snapshot.mean(), 0.001);
+        assertEquals(500, snapshot.p50(), 500 * 0.04);
+        assertEquals(990, snapshot.p99(), 990 * 0.04);
+        assertEquals(999, snapshot.p999(), 999 * 0.04);
+        assertEquals(1000, snapshot.max());
+        assertTrue(snapshot.p999() <= snapshot.max());
+    }
+
+    @Test
+    void testEmptySnapshot() {
+        assertEquals(new LatencyHistogram.Snapshot(0, 0, 0, 0, 0, 0), new LatencyHistogram().snapshot());
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNothing() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        histogram.record(1_000_000);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(800_000, snapshot.count());
+        assertEquals(1.0, snapshot.mean());
+        assertEquals(1.0, snapshot.max());
+    }
+}
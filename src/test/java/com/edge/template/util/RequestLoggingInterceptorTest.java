@@ -0,0 +1,143 @@
+package com.edge.template.util;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.edge.config.RequestLoggingProperties;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLoggingInterceptorTest {
+    private final Logger interceptorLogger = (Logger) LoggerFactory.getLogger(RequestLoggingInterceptor.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final RequestLoggingProperties properties = new RequestLoggingProperties();
+
+    @BeforeEach
+    void setUp() {
+        appender.setContext(interceptorLogger.getLoggerContext());
+        appender.start();
+        interceptorLogger.addAppender(appender);
+        properties.setSamplePercentages(Map.of("/api/heartbeat", 0.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        interceptorLogger.detachAppender(appender);
+    }
+
+    private void handle(RequestLoggingInterceptor interceptor, String path, int status) throws Exception {
+        handle(interceptor, request(path), status);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, path);
+        return request;
+    }
+
+    private void handle(RequestLoggingInterceptor interceptor, MockHttpServletRequest request, int status) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Object handler = new Object();
+        interceptor.preHandle(request, response, handler);
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    private List<String> messages() {
+        return appender.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .map(message -> message.substring(0, message.indexOf(':')))
+                .toList();
+    }
+
+    @Test
+    void testUnsampledRequestsAreLoggedOnlyWhenTheyFail() throws Exception {
+        RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor(properties);
+
+        handle(interceptor, "/api/heartbeat", 200);
+        assertTrue(appender.list.isEmpty());
+
+        handle(interceptor, "/api/heartbeat", 503);
+        assertEquals(List.of("Received request", "Request completed"), messages());
+    }
+
+    @Test
+    void testSlowRequestsAreAlwaysLogged() throws Exception {
+        properties.setSlowRequestThreshold(Duration.ZERO);
+        RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor(properties);
+
+        handle(interceptor, "/api/heartbeat", 200);
+
+        assertEquals(List.of("Received request", "Request completed"), messages());
+    }
+
+    @Test
+    void testRateLimitsEachEndpointSeparately() throws Exception {
+        properties.setRateLimitPerSecond(0.001);
+        properties.setRateLimitBurst(2);
+        RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor(properties);
+
+        for (int i = 0; i < 5; i++) {
+            handle(interceptor, "/api/products", 200);
+        }
+        handle(interceptor, "/api/categories", 200);
+
+        assertEquals(6, messages().size());
+        assertEquals(1, appender.list.stream()
+                .filter(event -> event.getFormattedMessage().contains("/api/categories"))
+                .filter(event -> event.getFormattedMessage().startsWith("Received request"))
+                .count());
+    }
+
+    @Test
+    void testCallersSampledFlagDecidesLogging() throws Exception {
+        RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor(properties);
+        String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+        // Sampled upstream, although heartbeats are not sampled here
+        MockHttpServletRequest sampled = request("/api/heartbeat");
+        sampled.addHeader(TraceContext.TRACEPARENT_HEADER, "00-" + traceId + "-00f067aa0ba902b7-01");
+        handle(interceptor, sampled, 200);
+        assertEquals(List.of("Received request", "Request completed"), messages());
+        assertEquals(traceId, sampled.getAttribute(RequestLoggingInterceptor.TRACE_ID_ATTRIBUTE));
+
+        MockHttpServletRequest unsampled = request("/api/products");
+        unsampled.addHeader(TraceContext.TRACEPARENT_HEADER, "00-" + traceId + "-00f067aa0ba902b7-00");
+        handle(interceptor, unsampled, 200);
+        assertEquals(2, appender.list.size());
+    }
+
+    @Test
+    void testAsyncRequestKeepsItsTraceAcrossThreads() throws Exception {
+        RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor(properties);
+        MockHttpServletRequest request = request("/api/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Object handler = new Object();
+
+        interceptor.preHandle(request, response, handler);
+        String traceId = TraceContext.getTraceId();
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+        assertNull(MDC.get(TraceContext.TRACE_ID));
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        assertEquals(traceId, TraceContext.getTraceId());
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals(List.of("Received request", "Request completed"), messages());
+        assertNull(MDC.get(TraceContext.TRACE_ID));
+    }
+}
@@ -0,0 +1,80 @@
+package com.edge.template.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceContextTest {
+
+    @AfterEach
+    void tearDown() {
+        TraceContext.clearTrace();
+        LatencyStatistics.reset();
+    }
+
+    @Test
+    void testNestedSpansRestoreTheParentChain() {
+        TraceContext.initTrace("jane");
+        String root = TraceContext.getSpanId();
+
+        String controller = TraceContext.startSpan("Controller");
+        String service = TraceContext.startSpan("ProductService");
+        String repository = TraceContext.startSpan("ProductRepository");
+        assertEquals(repository, TraceContext.getSpanId());
+        assertEquals(service, MDC.get(TraceContext.PARENT_SPAN_ID));
+        assertEquals("ProductRepository", MDC.get(TraceContext.COMPONENT));
+
+        assertTrue(TraceContext.endSpan() >= 0);
+        assertEquals(service, TraceContext.getSpanId());
+        assertEquals(controller, MDC.get(TraceContext.PARENT_SPAN_ID));
+        assertEquals("ProductService", MDC.get(TraceContext.COMPONENT));
+
+        TraceContext.endSpan();
+        assertEquals(controller, TraceContext.getSpanId());
+        assertEquals(root, MDC.get(TraceContext.PARENT_SPAN_ID));
+        assertEquals("Controller", MDC.get(TraceContext.COMPONENT));
+
+        TraceContext.endSpan();
+        assertEquals(root, TraceContext.getSpanId());
+        assertNull(MDC.get(TraceContext.PARENT_SPAN_ID));
+        assertNull(MDC.get(TraceContext.COMPONENT));
+    }
+
+    @Test
+    void testFirstSpanIsAChildOfTheRemoteParent() {
+        TraceContext.initTrace("jane", new TraceParent("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7", true), null);
+
+        String controller = TraceContext.startSpan("Controller");
+        assertEquals("00f067aa0ba902b7", MDC.get(TraceContext.PARENT_SPAN_ID));
+        assertEquals("00-4bf92f3577b34da6a3ce929d0e0e4736-" + controller + "-01", TraceContext.getTraceParent());
+
+        TraceContext.endSpan();
+        assertEquals("00f067aa0ba902b7", TraceContext.getSpanId());
+        assertNull(MDC.get(TraceContext.PARENT_SPAN_ID));
+    }
+
+    @Test
+    void testRecordsSpanDurationsPerComponent() throws Exception {
+        TraceContext.startSpan("SlowService");
+        Thread.sleep(5);
+        long nanos = TraceContext.endSpan();
+        TraceContext.startSpan("SlowService");
+        TraceContext.endSpan();
+
+        assertTrue(nanos >= 5_000_000, String.valueOf(nanos));
+        Map<String, LatencyHistogram.Snapshot> components = LatencyStatistics.snapshot().get("components");
+        LatencyHistogram.Snapshot snapshot = components.get("SlowService");
+        assertEquals(2, snapshot.count());
+        assertTrue(snapshot.max() >= 5.0);
+    }
+
+    @Test
+    void testEndSpanWithoutStartedSpan() {
+        assertEquals(-1, TraceContext.endSpan());
+        assertTrue(LatencyStatistics.snapshot().get("components").isEmpty());
+    }
+}
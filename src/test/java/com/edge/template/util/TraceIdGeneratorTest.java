@@ -0,0 +1,73 @@
+package com.edge.template.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceIdGeneratorTest {
+
+    @Test
+    void testIdsAreLowercaseHexOfW3cLength() {
+        for (int i = 0; i < 1000; i++) {
+            String traceId = TraceIdGenerator.newTraceId();
+            String spanId = TraceIdGenerator.newSpanId();
+
+            assertTrue(traceId.matches("[0-9a-f]{32}"), traceId);
+            assertTrue(spanId.matches("[0-9a-f]{16}"), spanId);
+            assertNotEquals("0".repeat(32), traceId);
+            assertNotEquals("0".repeat(16), spanId);
+        }
+    }
+
+    @Test
+    void testWritesHexMostSignificantDigitFirst() {
+        char[] out = new char[20];
+
+        TraceIdGenerator.writeHex(0x0123456789abcdefL, out, 2);
+        assertEquals("0123456789abcdef", new String(out, 2, 16));
+
+        TraceIdGenerator.writeHex(-1L, out, 0);
+        assertEquals("ffffffffffffffff", new String(out, 0, 16));
+    }
+
+    @Test
+    void testThreadsGenerateUniqueIdsConcurrently() throws Exception {
+        int threads = 8;
+        int idsPerThread = 20_000;
+        Set<String> traceIds = ConcurrentHashMap.newKeySet();
+        Set<String> spanIds = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = IntStream.range(0, threads).<Callable<Void>>mapToObj(t -> () -> {
+                start.await();
+                for (int i = 0; i < idsPerThread; i++) {
+                    traceIds.add(TraceIdGenerator.newTraceId());
+                    spanIds.add(TraceIdGenerator.newSpanId());
+                }
+                return null;
+            }).toList();
+            List<Future<Void>> results = tasks.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * idsPerThread, traceIds.size());
+        assertEquals(threads * idsPerThread, spanIds.size());
+    }
+}
@@ -0,0 +1,62 @@
+package com.edge.template.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceParentTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+
+    @Test
+    void testParsesVersion00() {
+        TraceParent sampled = TraceParent.parse("00-" + TRACE_ID + "-" + PARENT_ID + "-01");
+        assertEquals(new TraceParent(TRACE_ID, PARENT_ID, true), sampled);
+
+        TraceParent unsampled = TraceParent.parse("00-" + TRACE_ID + "-" + PARENT_ID + "-00");
+        assertFalse(unsampled.sampled());
+        // Only the sampled bit counts
+        assertTrue(TraceParent.parse("00-" + TRACE_ID + "-" + PARENT_ID + "-03").sampled());
+    }
+
+    @Test
+    void testAcceptsFieldsAppendedByLaterVersions() {
+        assertEquals(new TraceParent(TRACE_ID, PARENT_ID, true),
+                TraceParent.parse("01-" + TRACE_ID + "-" + PARENT_ID + "-01-extra"));
+        assertNull(TraceParent.parse("01-" + TRACE_ID + "-" + PARENT_ID + "-01extra"));
+    }
+
+    @Test
+    void testRejectsMalformedHeaders() {
+        String[] invalid = {
+                null,
+                "",
+                "00-" + TRACE_ID + "-" + PARENT_ID,
+                "00-" + TRACE_ID + "-" + PARENT_ID + "-01-extra",
+                "ff-" + TRACE_ID + "-" + PARENT_ID + "-01",
+                "00-" + TRACE_ID.toUpperCase() + "-" + PARENT_ID + "-01",
+                "00-" + "0".repeat(32) + "-" + PARENT_ID + "-01",
+                "00-" + TRACE_ID + "-" + "0".repeat(16) + "-01",
+                "00_" + TRACE_ID + "-" + PARENT_ID + "-01",
+                "00-" + TRACE_ID + "-" + PARENT_ID + "-0g",
+                "0x-" + TRACE_ID + "-" + PARENT_ID + "-01",
+        };
+        for (String header : invalid) {
+            assertNull(TraceParent.parse(header), header);
+        }
+    }
+
+    @Test
+    void testFormatsVersion00() {
+        assertEquals("00-" + TRACE_ID + "-" + PARENT_ID + "-01", TraceParent.format(TRACE_ID, PARENT_ID, true));
+        assertEquals("00-" + TRACE_ID + "-" + PARENT_ID + "-00", TraceParent.format(TRACE_ID, PARENT_ID, false));
+        // A custom X-Trace-ID cannot be sent as a W3C trace ID
+        assertNull(TraceParent.format("client-trace-1", PARENT_ID, true));
+        assertNull(TraceParent.format(TRACE_ID, null, true));
+
+        String traceId = TraceIdGenerator.newTraceId();
+        String spanId = TraceIdGenerator.newSpanId();
+        assertEquals(new TraceParent(traceId, spanId, false),
+                TraceParent.parse(TraceParent.format(traceId, spanId, false)));
+    }
+}
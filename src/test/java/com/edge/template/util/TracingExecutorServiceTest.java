@@ -0,0 +1,88 @@
+package com.edge.template.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingExecutorServiceTest {
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+    private final ExecutorService executor = TracingExecutorService.wrap(pool);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        MDC.clear();
+        LatencyStatistics.reset();
+    }
+
+    @Test
+    void testRunsTasksWithTheSubmittersTrace() throws Exception {
+        String traceId = TraceContext.initTrace("jane");
+        String span = TraceContext.startSpan("ProductService");
+
+        List<String> seen = executor.submit(() -> {
+            String child = TraceContext.startSpan("PriceLookup");
+            List<String> ids = List.of(TraceContext.getTraceId(), MDC.get(TraceContext.USER_ID),
+                    MDC.get(TraceContext.PARENT_SPAN_ID), child);
+            TraceContext.endSpan();
+            return ids;
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(traceId, seen.get(0));
+        assertEquals("jane", seen.get(1));
+        assertEquals(span, seen.get(2));
+        assertNotEquals(span, seen.get(3));
+        assertEquals(1, LatencyStatistics.snapshot().get("components").get("PriceLookup").count());
+    }
+
+    @Test
+    void testPooledThreadDoesNotKeepTheTrace() throws Exception {
+        TraceContext.initTrace("jane");
+        executor.submit(() -> TraceContext.startSpan("Unfinished")).get(5, TimeUnit.SECONDS);
+        MDC.clear();
+
+        // Same worker thread, submitted without a trace
+        Callable<String> traceId = TraceContext::getTraceId;
+        assertNull(executor.submit(traceId).get(5, TimeUnit.SECONDS));
+        assertNull(pool.submit(traceId).get(5, TimeUnit.SECONDS));
+        assertNull(pool.submit(() -> MDC.get(TraceContext.COMPONENT)).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCallerRunningTheTaskGetsItsOwnContextBack() {
+        TraceContext.initTrace("jane", "caller-trace");
+        TraceContext.Snapshot snapshot = TraceContext.capture();
+        TraceContext.startSpan("Controller");
+
+        TraceContext.initTrace("other", "other-trace");
+        try (TraceContext.Scope ignored = snapshot.restore()) {
+            assertEquals("caller-trace", TraceContext.getTraceId());
+            assertEquals("jane", MDC.get(TraceContext.USER_ID));
+        }
+
+        assertEquals("other-trace", TraceContext.getTraceId());
+        assertEquals("other", MDC.get(TraceContext.USER_ID));
+        // The open span survived the restore
+        assertTrue(TraceContext.endSpan() >= 0);
+    }
+
+    @Test
+    void testWrapsEachBatchTask() throws Exception {
+        String traceId = TraceContext.initTrace("jane");
+        Callable<String> task = TraceContext::getTraceId;
+
+        assertEquals(traceId, executor.invokeAny(List.of(task, task)));
+        for (var future : executor.invokeAll(List.of(task, task))) {
+            assertEquals(traceId, future.get());
+        }
+        assertSame(executor, TracingExecutorService.wrap(executor));
+    }
+}